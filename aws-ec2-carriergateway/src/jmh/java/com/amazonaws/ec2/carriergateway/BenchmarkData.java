@@ -0,0 +1,66 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.services.ec2.model.CarrierGateway;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysResult;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Canned EC2 responses shaped like the ones the handlers see, so benchmarks exercise the
+ * translation code without a client or network in the way.
+ */
+final class BenchmarkData {
+    private BenchmarkData() {
+    }
+
+    static CarrierGateway carrierGateway(final int index, final int tagCount) {
+        final List<com.amazonaws.services.ec2.model.Tag> tags = new ArrayList<>(tagCount);
+        for (int i = 0; i < tagCount; i++) {
+            tags.add(new com.amazonaws.services.ec2.model.Tag().withKey("key-" + i).withValue("value-" + i));
+        }
+        return new CarrierGateway()
+                .withCarrierGatewayId(String.format("cagw-%017d", index))
+                .withVpcId("vpc-01234567890123456")
+                .withOwnerId("123456789012")
+                .withState("available")
+                .withTags(tags);
+    }
+
+    static DescribeCarrierGatewaysResult describePage(final int gatewayCount, final int tagCount) {
+        final List<CarrierGateway> cagws = new ArrayList<>(gatewayCount);
+        for (int i = 0; i < gatewayCount; i++) {
+            cagws.add(carrierGateway(i, tagCount));
+        }
+        return new DescribeCarrierGatewaysResult().withCarrierGateways(cagws);
+    }
+
+    /**
+     * Tags where the first {@code changed} keys have a new value, the next {@code removed} keys are
+     * dropped and {@code added} new keys appear, relative to {@link #cfnTags(int)}.
+     */
+    static Set<Tag> updatedCfnTags(final int tagCount, final int changed, final int removed, final int added) {
+        final Set<Tag> tags = new HashSet<>();
+        for (int i = 0; i < tagCount; i++) {
+            if (i < changed) {
+                tags.add(Tag.builder().key("key-" + i).value("new-value-" + i).build());
+            } else if (i >= changed + removed) {
+                tags.add(Tag.builder().key("key-" + i).value("value-" + i).build());
+            }
+        }
+        for (int i = 0; i < added; i++) {
+            tags.add(Tag.builder().key("added-" + i).value("value-" + i).build());
+        }
+        return tags;
+    }
+
+    static Set<Tag> cfnTags(final int tagCount) {
+        final Set<Tag> tags = new HashSet<>();
+        for (int i = 0; i < tagCount; i++) {
+            tags.add(Tag.builder().key("key-" + i).value("value-" + i).build());
+        }
+        return tags;
+    }
+}
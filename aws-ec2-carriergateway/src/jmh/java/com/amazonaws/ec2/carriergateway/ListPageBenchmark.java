@@ -0,0 +1,32 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class ListPageBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int gatewayCount;
+
+    @Param({"0", "10"})
+    public int tagCount;
+
+    private DescribeCarrierGatewaysResult page;
+
+    @Setup
+    public void setup() {
+        page = BenchmarkData.describePage(gatewayCount, tagCount);
+    }
+
+    @Benchmark
+    public List<ResourceModel> createModelsFromCarrierGateways() {
+        return Translator.createModelsFromCarrierGateways(page.getCarrierGateways());
+    }
+}
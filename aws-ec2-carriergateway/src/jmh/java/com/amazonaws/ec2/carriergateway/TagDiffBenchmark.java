@@ -0,0 +1,31 @@
+package com.amazonaws.ec2.carriergateway;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Set;
+
+@State(Scope.Benchmark)
+public class TagDiffBenchmark {
+
+    @Param({"0", "10", "50"})
+    public int tagCount;
+
+    private Set<Tag> currentTags;
+    private Set<Tag> desiredTags;
+
+    @Setup
+    public void setup() {
+        // A typical update: a fifth of the values change, a tenth of the keys go away and two are added
+        currentTags = BenchmarkData.cfnTags(tagCount);
+        desiredTags = BenchmarkData.updatedCfnTags(tagCount, tagCount / 5, tagCount / 10, 2);
+    }
+
+    @Benchmark
+    public TagDiff between() {
+        return TagDiff.between(currentTags, desiredTags);
+    }
+}
@@ -0,0 +1,49 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.services.ec2.model.CarrierGateway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class TranslatorBenchmark {
+
+    @Param({"0", "10", "50"})
+    public int tagCount;
+
+    private CarrierGateway cagw;
+    private List<Tag> cfnTags;
+    private List<com.amazonaws.services.ec2.model.Tag> sdkTags;
+
+    @Setup
+    public void setup() {
+        cagw = BenchmarkData.carrierGateway(0, tagCount);
+        cfnTags = new ArrayList<>(BenchmarkData.cfnTags(tagCount));
+        sdkTags = cagw.getTags();
+    }
+
+    @Benchmark
+    public ResourceModel createModelFromCarrierGateway() {
+        return Translator.createModelFromCarrierGateway(cagw);
+    }
+
+    @Benchmark
+    public void createSdkTagFromCfnTag(final Blackhole blackhole) {
+        for (final Tag tag : cfnTags) {
+            blackhole.consume(Translator.createSdkTagFromCfnTag(tag));
+        }
+    }
+
+    @Benchmark
+    public void createCfnTagFromSdkTag(final Blackhole blackhole) {
+        for (final com.amazonaws.services.ec2.model.Tag tag : sdkTags) {
+            blackhole.consume(Translator.createCfnTagFromSdkTag(tag));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.DnsResolver;
+import com.amazonaws.SystemDefaultDnsResolver;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the addresses of each resolved host for a fixed time, so new pooled connections to the
+ * EC2 endpoint do not each wait on a DNS lookup. Failed lookups are not cached.
+ */
+class CachingDnsResolver implements DnsResolver {
+
+    private static final class Entry {
+        private final InetAddress[] addresses;
+        private final long expiresAt;
+
+        private Entry(final InetAddress[] addresses, final long expiresAt) {
+            this.addresses = addresses;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final long ttlMillis;
+    private final DnsResolver delegate;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    CachingDnsResolver(final long ttlMillis) {
+        this(ttlMillis, SystemDefaultDnsResolver.INSTANCE, System::currentTimeMillis);
+    }
+
+    CachingDnsResolver(final long ttlMillis, final DnsResolver delegate, final LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.delegate = delegate;
+        this.clock = clock;
+    }
+
+    @Override
+    public InetAddress[] resolve(final String host) throws UnknownHostException {
+        final long now = clock.getAsLong();
+        final Entry cached = entries.get(host);
+        if (cached != null && now < cached.expiresAt) {
+            return cached.addresses.clone();
+        }
+        final InetAddress[] addresses = delegate.resolve(host);
+        entries.put(host, new Entry(addresses.clone(), now + ttlMillis));
+        return addresses;
+    }
+}
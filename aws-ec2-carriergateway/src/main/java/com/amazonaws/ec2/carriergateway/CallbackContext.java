@@ -1,17 +1,34 @@
 package com.amazonaws.ec2.carriergateway;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.util.Set;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class CallbackContext {
     private boolean createStarted;
+    // Set once DescribeCarrierGateways has returned the gateway a create made
+    private boolean createVisible;
     private boolean deleteStarted;
     private boolean updateStarted;
 
+    private int stabilizationAttempts;
+
     private Set<Tag> tagsToCreate;
     private Set<Tag> tagsToDelete;
-}
\ No newline at end of file
+
+    // Carried across callbacks by OperationTracker
+    private long operationStartedAt;
+    private int callbackCount;
+    private int apiCallCount;
+    private String lastObservedState;
+    private long lastObservedAt;
+    private long pendingMillis;
+    private long deletingMillis;
+}
@@ -1,13 +1,133 @@
 package com.amazonaws.ec2.carriergateway;
 
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.regions.DefaultAwsRegionProviderChain;
 import com.amazonaws.services.ec2.AmazonEC2;
 import com.amazonaws.services.ec2.AmazonEC2ClientBuilder;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URISyntaxException;
+
 
 class ClientBuilder {
+  /**
+   * Overrides the EC2 endpoint, for pointing the handlers at a local stand-in such as the one
+   * ColdStartHarness runs. Never set in a deployed function.
+   */
+  static final String ENDPOINT_ENV = "CARRIER_GATEWAY_EC2_ENDPOINT";
+
+  /**
+   * Selects the client behind {@link Ec2Gateway}: {@code v1} (the default) for the SDK v1 client,
+   * or {@code v2} for the SDK v2 client on the URL connection HTTP client. {@code v2} needs a build
+   * with the sdk-v2 profile; other builds do not carry that client.
+   */
+  static final String CLIENT_ENV = "CARRIER_GATEWAY_EC2_CLIENT";
+
+  static final String SDK_V1 = "v1";
+  static final String SDK_V2 = "v2";
+
+  // Compiled from src/v2/java by the sdk-v2 profile only, so it is looked up by name
+  private static final String V2_GATEWAY_CLASS = "com.amazonaws.ec2.carriergateway.SdkV2Ec2Gateway";
+
   private ClientBuilder() { }
 
-  static AmazonEC2 getClient() {
-    return AmazonEC2ClientBuilder.standard().build();
+  /**
+   * The EC2 client shared by every handler in this container, built on first use. Sharing it keeps
+   * the HTTP connection pool, TLS sessions and endpoint resolution warm across invocations. A build
+   * that fails is not remembered: the exception reaches the invocation that triggered it, and the
+   * next invocation tries again instead of the container failing every call until it is recycled.
+   */
+  private static volatile Ec2Gateway client;
+
+  static Ec2Gateway getClient() {
+    Ec2Gateway shared = client;
+    if (shared == null) {
+      synchronized (ClientBuilder.class) {
+        shared = client;
+        if (shared == null) {
+          shared = buildGateway(System.getenv(CLIENT_ENV), System.getenv(ENDPOINT_ENV));
+          client = shared;
+        }
+      }
+    }
+    return shared;
+  }
+
+  /**
+   * @throws IllegalArgumentException if {@code sdk} names no known client or one this build does not
+   *         carry, or {@code endpoint} is not an absolute URI
+   */
+  static Ec2Gateway buildGateway(final String sdk, final String endpoint) {
+    final boolean v2 = isV2(sdk);
+    validateEndpoint(endpoint);
+    final TransportSettings transport = TransportSettings.fromEnvironment();
+    if (v2) {
+      return buildV2Gateway(endpoint, transport);
+    }
+    return new SdkV1Ec2Gateway(buildClient(endpoint, transport));
+  }
+
+  private static boolean isV2(final String sdk) {
+    if (!isSet(sdk) || SDK_V1.equalsIgnoreCase(sdk.trim())) {
+      return false;
+    }
+    if (SDK_V2.equalsIgnoreCase(sdk.trim())) {
+      return true;
+    }
+    throw new IllegalArgumentException(CLIENT_ENV + " must be " + SDK_V1 + " or " + SDK_V2 + ", not " + sdk);
+  }
+
+  private static void validateEndpoint(final String endpoint) {
+    if (!isSet(endpoint)) {
+      return;
+    }
+    final URI uri;
+    try {
+      uri = new URI(endpoint.trim());
+    } catch (URISyntaxException e) {
+      throw new IllegalArgumentException(ENDPOINT_ENV + " is not a valid URI: " + endpoint, e);
+    }
+    if (uri.getScheme() == null || uri.getHost() == null) {
+      throw new IllegalArgumentException(ENDPOINT_ENV + " must be an absolute URI with a host: " + endpoint);
+    }
+  }
+
+  static AmazonEC2 buildClient(final String endpoint) {
+    return buildClient(endpoint, TransportSettings.fromEnvironment());
+  }
+
+  static AmazonEC2 buildClient(final String endpoint, final TransportSettings transport) {
+    final AmazonEC2ClientBuilder builder = AmazonEC2ClientBuilder.standard()
+            .withClientConfiguration(transport.toClientConfiguration());
+    if (isSet(endpoint)) {
+      builder.withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(
+              endpoint.trim(), new DefaultAwsRegionProviderChain().getRegion()));
+    }
+    return builder.build();
+  }
+
+  private static Ec2Gateway buildV2Gateway(final String endpoint, final TransportSettings transport) {
+    final Method create;
+    try {
+      create = Class.forName(V2_GATEWAY_CLASS).getDeclaredMethod("create", String.class, TransportSettings.class);
+    } catch (ClassNotFoundException | NoSuchMethodException e) {
+      throw new IllegalArgumentException(CLIENT_ENV + "=" + SDK_V2 + " needs a build with the sdk-v2 profile", e);
+    }
+    try {
+      return (Ec2Gateway) create.invoke(null, endpoint, transport);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    } catch (InvocationTargetException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private static boolean isSet(final String value) {
+    return value != null && !value.trim().isEmpty();
   }
-}
\ No newline at end of file
+}
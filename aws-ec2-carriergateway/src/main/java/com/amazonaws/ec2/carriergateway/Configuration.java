@@ -4,5 +4,7 @@ class Configuration extends BaseConfiguration {
 
     public Configuration() {
         super("aws-ec2-carriergateway.json");
+        // Built once by HandlerWrapper during the Lambda init phase
+        Priming.primeOnInit();
     }
 }
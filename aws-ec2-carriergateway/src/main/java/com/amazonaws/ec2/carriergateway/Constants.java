@@ -1,7 +1,54 @@
 package com.amazonaws.ec2.carriergateway;
 
 class Constants {
-    static final int POLLING_DELAY_SECONDS = 5;
+    // Carrier gateways usually become available about a second after creation, so the
+    // first stabilization check happens early and later ones back off up to the cap.
+    static final int INITIAL_POLLING_DELAY_SECONDS = 1;
+    static final int MAX_POLLING_DELAY_SECONDS = 30;
+
+    // Deleting takes several seconds rather than one, so callbacks while a gateway is deleting start
+    // later and stay closer together than the general backoff would space them.
+    static final int DELETING_INITIAL_POLLING_DELAY_SECONDS = 3;
+    static final int DELETING_MAX_POLLING_DELAY_SECONDS = 10;
+
+    // Budget for polling inside a single invocation before handing back to CloudFormation.
+    // It stays well below the handler timeout so the IN_PROGRESS event is always returned in time.
+    static final long INLINE_WAIT_BUDGET_MILLIS = 20_000L;
+    static final long INLINE_POLL_INTERVAL_MILLIS = 1_000L;
+
+    // Handler timeout set in template.yml. No inline poll starts later than the margin before it, which
+    // leaves room for one describe with its retries and for returning the IN_PROGRESS event.
+    static final long HANDLER_TIMEOUT_MILLIS = 60_000L;
+    static final long HANDLER_TIMEOUT_MARGIN_MILLIS = 15_000L;
+
+    // Page size for ListHandler; each list call returns a single page and its next token
+    static final int LIST_MAX_RESULTS = 100;
+
+    // Every EC2 call takes a token from a container-wide bucket; throttled and transient failures
+    // are retried a few times with jittered backoff before the handler reports them. The bucket size
+    // and rate can be overridden through the environment.
+    static final int EC2_RATE_LIMIT_BURST = 20;
+    static final double EC2_RATE_LIMIT_PER_SECOND = 10.0;
+    static final int EC2_MAX_ATTEMPTS = 4;
+    static final long EC2_RETRY_BASE_DELAY_MILLIS = 200L;
+    static final long EC2_RETRY_MAX_DELAY_MILLIS = 2_000L;
+
+    // Transport for the EC2 client. DescribeCarrierGateways answers well within a second even at p99, so
+    // a connection or read that stalls far beyond that is cut short and retried instead of waited on.
+    // Pooled connections are kept alive but recycled regularly, so a poll never reuses one the other
+    // side has already dropped. Every value can be overridden through the environment.
+    static final int EC2_CONNECT_TIMEOUT_MILLIS = 2_000;
+    static final int EC2_SOCKET_TIMEOUT_MILLIS = 5_000;
+    static final int EC2_REQUEST_TIMEOUT_MILLIS = 10_000;
+    static final long EC2_CONNECTION_TTL_MILLIS = 60_000L;
+    static final long EC2_CONNECTION_MAX_IDLE_MILLIS = 20_000L;
+    static final boolean EC2_TCP_KEEP_ALIVE = true;
+    // Resolved EC2 endpoint addresses are cached by the client only when this is set above 0
+    static final long EC2_DNS_CACHE_MILLIS = 0L;
+
+    // EC2 call metrics are written as CloudWatch Embedded Metric Format; EMF accepts at most 100 values per metric
+    static final String METRICS_NAMESPACE = "EC2CarrierGatewayResourceProvider";
+    static final int METRICS_MAX_LATENCY_SAMPLES = 100;
 
     private Constants() { }
 }
@@ -1,22 +1,49 @@
 package com.amazonaws.ec2.carriergateway;
 
-import com.amazonaws.services.ec2.AmazonEC2;
 
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.SdkClientException;
 import com.amazonaws.services.ec2.model.AmazonEC2Exception;
+import com.amazonaws.services.ec2.model.CarrierGateway;
 import com.amazonaws.services.ec2.model.CreateCarrierGatewayRequest;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysRequest;
+import com.amazonaws.services.ec2.model.Filter;
 import com.amazonaws.services.ec2.model.TagSpecification;
 import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.proxy.*;
 
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
-import static com.amazonaws.ec2.carriergateway.Constants.POLLING_DELAY_SECONDS;
+import static com.amazonaws.ec2.carriergateway.Constants.INITIAL_POLLING_DELAY_SECONDS;
+import static com.amazonaws.ec2.carriergateway.Constants.INLINE_POLL_INTERVAL_MILLIS;
+import static com.amazonaws.ec2.carriergateway.Constants.INLINE_WAIT_BUDGET_MILLIS;
+import static com.amazonaws.ec2.carriergateway.Constants.MAX_POLLING_DELAY_SECONDS;
 import static com.amazonaws.ec2.carriergateway.Translator.createModelFromCarrierGateway;
-import static com.amazonaws.ec2.carriergateway.Translator.getHandlerErrorForEc2Error;
+import static com.amazonaws.ec2.carriergateway.Translator.isTransientEc2Error;
 
 public class CreateHandler extends BaseHandler<CallbackContext> {
+    // EC2 accepts client tokens of up to 64 ASCII characters
+    static final int CLIENT_TOKEN_MAX_LENGTH = 64;
+
+    private final Stabilizer stabilizer;
+    private final Ec2Invoker invoker;
+
+    public CreateHandler() {
+        this(new ExponentialBackoffStrategy(INITIAL_POLLING_DELAY_SECONDS, MAX_POLLING_DELAY_SECONDS),
+                new InlineWaiter(INLINE_WAIT_BUDGET_MILLIS, INLINE_POLL_INTERVAL_MILLIS));
+    }
+
+    CreateHandler(final DelayStrategy delayStrategy, final InlineWaiter inlineWaiter) {
+        this(delayStrategy, inlineWaiter, Ec2Invoker.getInstance());
+    }
+
+    CreateHandler(final DelayStrategy delayStrategy, final InlineWaiter inlineWaiter, final Ec2Invoker invoker) {
+        this.stabilizer = new Stabilizer(delayStrategy, inlineWaiter);
+        this.invoker = invoker;
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -24,98 +51,211 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        final OperationTracker tracker = OperationTracker.resume("Create", callbackContext);
+        ProgressEvent<ResourceModel, CallbackContext> event = null;
+        try {
+            event = handle(proxy, request, callbackContext, tracker);
+            return event;
+        } finally {
+            tracker.finish(event, event != null && event.getResourceModel() != null
+                    ? event.getResourceModel().getCarrierGatewayId() : null, logger);
+            Ec2Metrics.getInstance().flush(logger);
+        }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final OperationTracker tracker) {
+        final long invocationStartedAt = stabilizer.startInvocation();
 
         ResourceModel model = request.getDesiredResourceState();
         Set<Tag> tags = model.getTags();
-        final AmazonEC2 client = ClientBuilder.getClient();
+        final Ec2Gateway client = ClientBuilder.getClient();
+        final int attempt;
         if (callbackContext == null || !callbackContext.isCreateStarted()) {
             // Return InvalidRequest if caller is attempting to set a read-only property
-            if (model.getCarrierGatewayId() != null) {
-                return createFailedReadOnlyPropertyEvent(model, "CarrierGatewayId");
-            }
-            if (model.getOwnerId() != null) {
-                return createFailedReadOnlyPropertyEvent(model, "OwnerId");
-            }
-            if (model.getState() != null) {
-                return createFailedReadOnlyPropertyEvent(model, "State");
+            final HandlerEvents.Phase validation = HandlerEvents.beginPhase("Create", "Validate");
+            final String readOnlyProperty = findReadOnlyProperty(model);
+            validation.end(null);
+            if (readOnlyProperty != null) {
+                return createFailedReadOnlyPropertyEvent(model, readOnlyProperty);
             }
             try {
-                model = createCarrierGateway(model.getVpcId(), tags, proxy, client);
+                model = tracker.observe(createCarrierGateway(model.getVpcId(), tags, clientTokenFor(request), proxy, client));
             } catch (AmazonEC2Exception e) {
-                return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                        .resourceModel(model)
-                        .status(OperationStatus.FAILED)
-                        .errorCode(getHandlerErrorForEc2Error(e.getErrorCode()))
-                        .message(e.getMessage())
-                        .build();
+                return Stabilizer.failed(model, e);
             }
             if (tags != null) {
                 model.setTags(tags);
             }
-            return createInProgressEvent(model, 0);
+            // EC2 can report the new gateway as available straight away, in which case there is nothing to wait for
+            if (isAvailable(model)) {
+                return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                        .resourceModel(model)
+                        .status(OperationStatus.SUCCESS)
+                        .build();
+            }
+            attempt = 0;
+        } else {
+            attempt = callbackContext.getStabilizationAttempts();
         }
 
-        final ReadHandler readHandler = new ReadHandler();
-        final ResourceModel resultModel;
+        final ResourceModel createdModel = model;
+        final AtomicBoolean visible = new AtomicBoolean(callbackContext != null && callbackContext.isCreateVisible());
         try {
-            resultModel = readHandler.handleRequest(proxy, request, null, logger).getResourceModel();
-            if (!"available".equals(resultModel.getState())) {
-                return createInProgressEvent(resultModel);
-            }
+            return stabilizer.stabilize(
+                    model,
+                    attempt,
+                    () -> tracker.observe(readCarrierGateway(createdModel, visible, proxy)),
+                    CreateHandler::isAvailable,
+                    context -> context.createStarted(true).createVisible(visible.get()),
+                    tracker,
+                    invocationStartedAt);
         } catch (CfnNotFoundException e) {
-            return createInProgressEvent(model);
-        } catch (AmazonEC2Exception e) {
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                    .resourceModel(model)
+                    .resourceModel(createdModel)
                     .status(OperationStatus.FAILED)
-                    .errorCode(getHandlerErrorForEc2Error(e.getErrorCode()))
-                    .message(e.getMessage())
+                    .errorCode(HandlerErrorCode.NotStabilized)
+                    .message("CarrierGateway " + createdModel.getCarrierGatewayId() + " was deleted before it became available")
                     .build();
         }
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .resourceModel(resultModel)
-                .status(OperationStatus.SUCCESS)
-                .build();
+    }
+
+    /**
+     * A new carrier gateway can take a moment to show up in DescribeCarrierGateways, so it not being
+     * found only means it is not visible yet until a describe has returned it once. After that it
+     * means the gateway is gone, and the NotFound is thrown so the create can fail.
+     *
+     * @return the current model, or null while the new carrier gateway is not visible to DescribeCarrierGateways yet
+     */
+    private ResourceModel readCarrierGateway(
+            final ResourceModel model,
+            final AtomicBoolean visible,
+            final AmazonWebServicesClientProxy proxy) {
+
+        final HandlerEvents.Phase phase = HandlerEvents.beginPhase("Create", "StabilizationRead");
+        try {
+            final ResourceModel current = new ReadHandler(invoker).read(model.getCarrierGatewayId(), proxy);
+            visible.set(true);
+            return current;
+        } catch (CfnNotFoundException e) {
+            if (visible.get()) {
+                throw e;
+            }
+            return null;
+        } finally {
+            phase.end(model.getCarrierGatewayId());
+        }
+    }
+
+    private static String findReadOnlyProperty(final ResourceModel model) {
+        if (model.getCarrierGatewayId() != null) {
+            return "CarrierGatewayId";
+        }
+        if (model.getOwnerId() != null) {
+            return "OwnerId";
+        }
+        if (model.getState() != null) {
+            return "State";
+        }
+        return null;
+    }
+
+    private static boolean isAvailable(final ResourceModel model) {
+        return model != null && "available".equals(model.getState());
+    }
+
+    /**
+     * CloudFormation sends the same client request token every time it retries an invocation, so
+     * using it as the EC2 client token makes a retried create return the gateway the first attempt
+     * made instead of failing with CarrierGatewayAlreadyExists.
+     */
+    static String clientTokenFor(final ResourceHandlerRequest<ResourceModel> request) {
+        final String token = request.getClientRequestToken();
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        return token.length() > CLIENT_TOKEN_MAX_LENGTH ? token.substring(0, CLIENT_TOKEN_MAX_LENGTH) : token;
     }
 
     private ResourceModel createCarrierGateway(
             final String vpcId,
             final Set<Tag> tags,
+            final String clientToken,
             final AmazonWebServicesClientProxy proxy,
-            final AmazonEC2 client) {
+            final Ec2Gateway client) {
 
-        final CreateCarrierGatewayRequest request = new CreateCarrierGatewayRequest().withVpcId(vpcId);
+        final CreateCarrierGatewayRequest request = new CreateCarrierGatewayRequest()
+                .withVpcId(vpcId)
+                .withClientToken(clientToken);
 
         if (tags != null && !tags.isEmpty()) {
             request.withTagSpecifications(new TagSpecification()
                     .withResourceType("carrier-gateway")
                     .withTags(tags.stream().map(Translator::createSdkTagFromCfnTag).collect(Collectors.toSet())));
         }
+        final HandlerEvents.Phase phase = HandlerEvents.beginPhase("Create", "CreateCall");
+        String cagwId = null;
         try {
-            return createModelFromCarrierGateway(proxy.injectCredentialsAndInvoke(request, client::createCarrierGateway)
-                    .getCarrierGateway());
+            final ResourceModel model = createModelFromCarrierGateway(invokeCreate(request, proxy, client));
+            cagwId = model.getCarrierGatewayId();
+            return model;
         } catch (AmazonEC2Exception e) {
             if ("CarrierGatewayAlreadyExists".equals(e.getErrorCode())) {
                 throw new CfnAlreadyExistsException("CarrierGateway", "vpcId: " + vpcId);
             }
             throw e;
+        } finally {
+            phase.end(cagwId);
         }
     }
 
-    private ProgressEvent<ResourceModel, CallbackContext> createInProgressEvent(ResourceModel model) {
-        return createInProgressEvent(model, POLLING_DELAY_SECONDS);
+    private CarrierGateway invokeCreate(
+            final CreateCarrierGatewayRequest request,
+            final AmazonWebServicesClientProxy proxy,
+            final Ec2Gateway client) {
+
+        if (request.getClientToken() == null) {
+            return invoker.invokeRetryingThrottlesOnly(proxy, request, client::createCarrierGateway).getCarrierGateway();
+        }
+        // With a client token EC2 creates at most one gateway however often the call is repeated
+        try {
+            return invoker.invoke(proxy, request, client::createCarrierGateway).getCarrierGateway();
+        } catch (AmazonEC2Exception e) {
+            if (!isTransientEc2Error(e.getErrorCode())) {
+                throw e;
+            }
+            return recoverCreate(request, e, proxy, client);
+        } catch (AmazonServiceException e) {
+            throw e;
+        } catch (SdkClientException e) {
+            return recoverCreate(request, e, proxy, client);
+        }
     }
 
-    private ProgressEvent<ResourceModel, CallbackContext> createInProgressEvent(ResourceModel model, int callbackDelay) {
-        CallbackContext context = CallbackContext.builder()
-                .createStarted(true)
-                .build();
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .callbackContext(context)
-                .callbackDelaySeconds(callbackDelay)
-                .status(OperationStatus.IN_PROGRESS)
-                .resourceModel(model)
-                .build();
+    /**
+     * Settles a create that failed without telling whether EC2 acted on it. If the VPC has no live
+     * carrier gateway the create did not happen, and the original failure stands. Otherwise the
+     * create is repeated with the same client token: EC2 returns the gateway that token created,
+     * or CarrierGatewayAlreadyExists if the gateway in the VPC was made by someone else.
+     */
+    private CarrierGateway recoverCreate(
+            final CreateCarrierGatewayRequest request,
+            final RuntimeException failure,
+            final AmazonWebServicesClientProxy proxy,
+            final Ec2Gateway client) {
+
+        final DescribeCarrierGatewaysRequest describeRequest = new DescribeCarrierGatewaysRequest()
+                .withFilters(new Filter("vpc-id").withValues(request.getVpcId()));
+        final boolean gatewayInVpc = invoker.invoke(proxy, describeRequest, client::describeCarrierGateways)
+                .getCarrierGateways().stream()
+                .anyMatch(cagw -> !"deleting".equals(cagw.getState()) && !"deleted".equals(cagw.getState()));
+        if (!gatewayInVpc) {
+            throw failure;
+        }
+        return invoker.invokeRetryingThrottlesOnly(proxy, request, client::createCarrierGateway).getCarrierGateway();
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> createFailedReadOnlyPropertyEvent(ResourceModel model, String readOnlyProperty) {
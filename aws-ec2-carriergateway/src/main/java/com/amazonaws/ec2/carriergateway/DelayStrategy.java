@@ -0,0 +1,42 @@
+package com.amazonaws.ec2.carriergateway;
+
+/**
+ * Decides how long CloudFormation should wait before the next stabilization callback.
+ */
+@FunctionalInterface
+interface DelayStrategy {
+
+    /**
+     * @param attempt number of stabilization callbacks already scheduled for this operation, starting at 0
+     * @return callback delay in seconds
+     */
+    int nextDelaySeconds(int attempt);
+
+    /**
+     * @param state state of the last polled model, or null if nothing was polled
+     * @return callback delay in seconds; the same as {@link #nextDelaySeconds(int)} unless a state has its own delay
+     */
+    default int nextDelaySeconds(final int attempt, final String state) {
+        return nextDelaySeconds(attempt);
+    }
+
+    /**
+     * @return a strategy that uses {@code stateDelay} while the last polled model is in {@code state}, and this one otherwise
+     */
+    default DelayStrategy withStateDelay(final String state, final DelayStrategy stateDelay) {
+        final DelayStrategy otherwise = this;
+        return new DelayStrategy() {
+            @Override
+            public int nextDelaySeconds(final int attempt) {
+                return otherwise.nextDelaySeconds(attempt);
+            }
+
+            @Override
+            public int nextDelaySeconds(final int attempt, final String polledState) {
+                return state.equals(polledState)
+                        ? stateDelay.nextDelaySeconds(attempt, polledState)
+                        : otherwise.nextDelaySeconds(attempt, polledState);
+            }
+        };
+    }
+}
@@ -1,19 +1,49 @@
 package com.amazonaws.ec2.carriergateway;
 
-import com.amazonaws.services.ec2.AmazonEC2;
 import com.amazonaws.services.ec2.model.AmazonEC2Exception;
 import com.amazonaws.services.ec2.model.DeleteCarrierGatewayRequest;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
-import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
-import static com.amazonaws.ec2.carriergateway.Constants.POLLING_DELAY_SECONDS;
-import static com.amazonaws.ec2.carriergateway.Translator.getHandlerErrorForEc2Error;
+import java.util.Objects;
+
+import static com.amazonaws.ec2.carriergateway.Constants.DELETING_INITIAL_POLLING_DELAY_SECONDS;
+import static com.amazonaws.ec2.carriergateway.Constants.DELETING_MAX_POLLING_DELAY_SECONDS;
+import static com.amazonaws.ec2.carriergateway.Constants.INITIAL_POLLING_DELAY_SECONDS;
+import static com.amazonaws.ec2.carriergateway.Constants.INLINE_POLL_INTERVAL_MILLIS;
+import static com.amazonaws.ec2.carriergateway.Constants.INLINE_WAIT_BUDGET_MILLIS;
+import static com.amazonaws.ec2.carriergateway.Constants.MAX_POLLING_DELAY_SECONDS;
 
 public class DeleteHandler extends BaseHandler<CallbackContext> {
+    private final Stabilizer stabilizer;
+    private final Ec2Invoker invoker;
+
+    public DeleteHandler() {
+        this(new ExponentialBackoffStrategy(INITIAL_POLLING_DELAY_SECONDS, MAX_POLLING_DELAY_SECONDS),
+                new ExponentialBackoffStrategy(DELETING_INITIAL_POLLING_DELAY_SECONDS, DELETING_MAX_POLLING_DELAY_SECONDS),
+                new InlineWaiter(INLINE_WAIT_BUDGET_MILLIS, INLINE_POLL_INTERVAL_MILLIS));
+    }
+
+    DeleteHandler(final DelayStrategy delayStrategy, final InlineWaiter inlineWaiter, final Ec2Invoker invoker) {
+        this(delayStrategy, delayStrategy, inlineWaiter, invoker);
+    }
+
+    DeleteHandler(final DelayStrategy delayStrategy, final DelayStrategy deletingDelayStrategy, final InlineWaiter inlineWaiter) {
+        this(delayStrategy, deletingDelayStrategy, inlineWaiter, Ec2Invoker.getInstance());
+    }
+
+    DeleteHandler(
+            final DelayStrategy delayStrategy,
+            final DelayStrategy deletingDelayStrategy,
+            final InlineWaiter inlineWaiter,
+            final Ec2Invoker invoker) {
+        this.invoker = invoker;
+        this.stabilizer = new Stabilizer(
+                delayStrategy.withStateDelay(OperationTracker.DELETING, deletingDelayStrategy), inlineWaiter);
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -21,66 +51,74 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        final OperationTracker tracker = OperationTracker.resume("Delete", callbackContext);
+        ProgressEvent<ResourceModel, CallbackContext> event = null;
+        try {
+            event = handle(proxy, request, callbackContext, tracker);
+            return event;
+        } finally {
+            tracker.finish(event, request.getDesiredResourceState().getCarrierGatewayId(), logger);
+            Ec2Metrics.getInstance().flush(logger);
+        }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final OperationTracker tracker) {
+        final long invocationStartedAt = stabilizer.startInvocation();
         final ResourceModel model = request.getDesiredResourceState();
-        final AmazonEC2 client = ClientBuilder.getClient();
+        final Ec2Gateway client = ClientBuilder.getClient();
 
         if (callbackContext == null || !callbackContext.isDeleteStarted()) {
             try {
                 deleteCarrierGateway(model.getCarrierGatewayId(), proxy, client);
             } catch (AmazonEC2Exception e) {
-                return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                        .resourceModel(model)
-                        .status(OperationStatus.FAILED)
-                        .errorCode(getHandlerErrorForEc2Error(e.getErrorCode()))
-                        .message(e.getMessage())
-                        .build();
+                return Stabilizer.failed(model, e);
             }
         }
-        final ReadHandler readHandler = new ReadHandler();
-        try {
-            final ResourceModel readModel = readHandler.handleRequest(proxy, request, null, logger).getResourceModel();
-            return createInProgressEvent(readModel);
-        } catch (CfnNotFoundException expected) {
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                    .status(OperationStatus.SUCCESS)
-                    .build();
-        } catch (AmazonEC2Exception e) {
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                    .resourceModel(model)
-                    .status(OperationStatus.FAILED)
-                    .errorCode(getHandlerErrorForEc2Error(e.getErrorCode()))
-                    .message(e.getMessage())
-                    .build();
-        }
+        final int attempt = callbackContext == null ? 0 : callbackContext.getStabilizationAttempts();
+        final ReadHandler readHandler = new ReadHandler(invoker);
+        // Deletion completes once the read no longer finds the gateway; the read reports one EC2 still
+        // lists as deleted as not found.
+        return stabilizer.stabilize(
+                model,
+                attempt,
+                () -> {
+                    final HandlerEvents.Phase phase = HandlerEvents.beginPhase("Delete", "StabilizationRead");
+                    try {
+                        return tracker.observe(readHandler.read(model.getCarrierGatewayId(), proxy));
+                    } catch (CfnNotFoundException expected) {
+                        return null;
+                    } finally {
+                        phase.end(model.getCarrierGatewayId());
+                    }
+                },
+                Objects::isNull,
+                context -> context.deleteStarted(true),
+                tracker,
+                invocationStartedAt);
     }
 
     private void deleteCarrierGateway(
             final String cagwId,
             AmazonWebServicesClientProxy proxy,
-            AmazonEC2 client) {
+            Ec2Gateway client) {
 
         final DeleteCarrierGatewayRequest deleteRequest = new DeleteCarrierGatewayRequest()
                 .withCarrierGatewayId(cagwId);
 
+        final HandlerEvents.Phase phase = HandlerEvents.beginPhase("Delete", "DeleteCall");
         try {
-            proxy.injectCredentialsAndInvoke(deleteRequest, client::deleteCarrierGateway);
+            invoker.invoke(proxy, deleteRequest, client::deleteCarrierGateway);
         } catch (AmazonEC2Exception e) {
             if ("InvalidCarrierGatewayID.NotFound".equals(e.getErrorCode())) {
                 throw new CfnNotFoundException(ResourceModel.TYPE_NAME, cagwId);
             }
             throw e;
+        } finally {
+            phase.end(cagwId);
         }
     }
-
-    private ProgressEvent<ResourceModel, CallbackContext> createInProgressEvent(ResourceModel model) {
-        CallbackContext context = CallbackContext.builder()
-                .deleteStarted(true)
-                .build();
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .callbackContext(context)
-                .callbackDelaySeconds(POLLING_DELAY_SECONDS)
-                .status(OperationStatus.IN_PROGRESS)
-                .resourceModel(model)
-                .build();
-    }
 }
@@ -0,0 +1,33 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.services.ec2.model.CreateCarrierGatewayRequest;
+import com.amazonaws.services.ec2.model.CreateCarrierGatewayResult;
+import com.amazonaws.services.ec2.model.CreateTagsRequest;
+import com.amazonaws.services.ec2.model.CreateTagsResult;
+import com.amazonaws.services.ec2.model.DeleteCarrierGatewayRequest;
+import com.amazonaws.services.ec2.model.DeleteCarrierGatewayResult;
+import com.amazonaws.services.ec2.model.DeleteTagsRequest;
+import com.amazonaws.services.ec2.model.DeleteTagsResult;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysRequest;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysResult;
+
+/**
+ * The EC2 calls the handlers make, independent of which SDK client carries them.
+ *
+ * Requests and results are the SDK v1 model types the handlers and {@link Translator} already
+ * work with, and errors surface as {@link com.amazonaws.services.ec2.model.AmazonEC2Exception}, so
+ * every implementation can be passed to {@link Ec2Invoker} and through
+ * {@code AmazonWebServicesClientProxy.injectCredentialsAndInvoke} unchanged.
+ */
+interface Ec2Gateway {
+
+    CreateCarrierGatewayResult createCarrierGateway(CreateCarrierGatewayRequest request);
+
+    DescribeCarrierGatewaysResult describeCarrierGateways(DescribeCarrierGatewaysRequest request);
+
+    DeleteCarrierGatewayResult deleteCarrierGateway(DeleteCarrierGatewayRequest request);
+
+    CreateTagsResult createTags(CreateTagsRequest request);
+
+    DeleteTagsResult deleteTags(DeleteTagsRequest request);
+}
@@ -0,0 +1,203 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.AmazonWebServiceResult;
+import com.amazonaws.ResponseMetadata;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.ec2.model.AmazonEC2Exception;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static com.amazonaws.ec2.carriergateway.Constants.EC2_MAX_ATTEMPTS;
+import static com.amazonaws.ec2.carriergateway.Constants.EC2_RATE_LIMIT_BURST;
+import static com.amazonaws.ec2.carriergateway.Constants.EC2_RATE_LIMIT_PER_SECOND;
+import static com.amazonaws.ec2.carriergateway.Constants.EC2_RETRY_BASE_DELAY_MILLIS;
+import static com.amazonaws.ec2.carriergateway.Constants.EC2_RETRY_MAX_DELAY_MILLIS;
+import static com.amazonaws.ec2.carriergateway.Translator.isThrottlingEc2Error;
+import static com.amazonaws.ec2.carriergateway.Translator.isTransientEc2Error;
+
+/**
+ * Single place every EC2 call goes through, and the only place EC2 calls are retried: the SDK
+ * clients are built with their own retries turned off, so every attempt is paced and counted here.
+ *
+ * Each attempt takes a token from a bucket shared by the whole container, so a burst of stack
+ * operations is paced instead of tripping EC2 request limits. Throttling and transient server
+ * errors, and client-side I/O failures of calls that are safe to repeat, are retried with full-jitter
+ * exponential backoff; everything else is thrown straight away.
+ * Every attempt is recorded in {@link Ec2Metrics} and as a {@link HandlerEvents} call.
+ */
+class Ec2Invoker {
+    static final String RATE_LIMIT_BURST_ENV = "CARRIER_GATEWAY_EC2_RATE_LIMIT_BURST";
+    static final String RATE_LIMIT_PER_SECOND_ENV = "CARRIER_GATEWAY_EC2_RATE_LIMIT_PER_SECOND";
+
+    private static final Ec2Invoker INSTANCE = new Ec2Invoker(
+            EC2_MAX_ATTEMPTS,
+            EC2_RETRY_BASE_DELAY_MILLIS,
+            EC2_RETRY_MAX_DELAY_MILLIS,
+            new TokenBucket(
+                    (int) EnvironmentSettings.readNumber(System::getenv, RATE_LIMIT_BURST_ENV, EC2_RATE_LIMIT_BURST, 1, Integer.MAX_VALUE),
+                    // any rate above zero
+                    EnvironmentSettings.readNumber(System::getenv, RATE_LIMIT_PER_SECOND_ENV, EC2_RATE_LIMIT_PER_SECOND, Double.MIN_VALUE, Double.MAX_VALUE)),
+            Thread::sleep,
+            Ec2Metrics.getInstance());
+
+    // Attempts made by each thread, so a handler can count and label the calls made during its invocation
+    private static final ThreadLocal<ThreadCalls> CALLS_ON_THREAD = ThreadLocal.withInitial(ThreadCalls::new);
+
+    private static final class ThreadCalls {
+        private int count;
+        private String lastRequestId;
+    }
+
+    private static final ClassValue<String> OPERATION_NAMES = new ClassValue<String>() {
+        @Override
+        protected String computeValue(final Class<?> requestClass) {
+            final String name = requestClass.getSimpleName();
+            return name.endsWith("Request") ? name.substring(0, name.length() - "Request".length()) : name;
+        }
+    };
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final TokenBucket tokenBucket;
+    private final InlineWaiter.Sleeper sleeper;
+    private final Ec2Metrics metrics;
+
+    Ec2Invoker(
+            final int maxAttempts,
+            final long baseDelayMillis,
+            final long maxDelayMillis,
+            final TokenBucket tokenBucket,
+            final InlineWaiter.Sleeper sleeper,
+            final Ec2Metrics metrics) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.tokenBucket = tokenBucket;
+        this.sleeper = sleeper;
+        this.metrics = metrics;
+    }
+
+    static Ec2Invoker getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the number of EC2 call attempts made so far on the current thread
+     */
+    static int callsOnCurrentThread() {
+        return CALLS_ON_THREAD.get().count;
+    }
+
+    /**
+     * @return the EC2 request ID of the last call attempt on the current thread, if EC2 returned one
+     */
+    static String lastRequestIdOnCurrentThread() {
+        return CALLS_ON_THREAD.get().lastRequestId;
+    }
+
+    /**
+     * Invokes a call that is safe to repeat, retrying throttling and transient errors.
+     */
+    <RequestT extends AmazonWebServiceRequest, ResultT extends AmazonWebServiceResult<ResponseMetadata>> ResultT invoke(
+            final AmazonWebServicesClientProxy proxy,
+            final RequestT request,
+            final Function<RequestT, ResultT> requestFunction) {
+        return invoke(proxy, request, requestFunction, true);
+    }
+
+    /**
+     * Invokes a call that must not run twice, such as a create without a client token. Only
+     * throttling is retried, because a throttled request is rejected before EC2 acts on it.
+     */
+    <RequestT extends AmazonWebServiceRequest, ResultT extends AmazonWebServiceResult<ResponseMetadata>> ResultT invokeRetryingThrottlesOnly(
+            final AmazonWebServicesClientProxy proxy,
+            final RequestT request,
+            final Function<RequestT, ResultT> requestFunction) {
+        return invoke(proxy, request, requestFunction, false);
+    }
+
+    private <RequestT extends AmazonWebServiceRequest, ResultT extends AmazonWebServiceResult<ResponseMetadata>> ResultT invoke(
+            final AmazonWebServicesClientProxy proxy,
+            final RequestT request,
+            final Function<RequestT, ResultT> requestFunction,
+            final boolean retryTransientErrors) {
+
+        final String operation = OPERATION_NAMES.get(request.getClass());
+        final ThreadCalls callsOnThread = CALLS_ON_THREAD.get();
+        int attempt = 0;
+        while (true) {
+            pause(tokenBucket.reserve());
+            callsOnThread.count++;
+            callsOnThread.lastRequestId = null;
+            final HandlerEvents.Call call = HandlerEvents.beginCall(operation, attempt + 1);
+            final long start = System.nanoTime();
+            try {
+                final ResultT result = proxy.injectCredentialsAndInvoke(request, requestFunction);
+                metrics.recordCall(operation, elapsedMillis(start), null);
+                callsOnThread.lastRequestId = requestIdOf(result);
+                call.end(callsOnThread.lastRequestId, null);
+                return result;
+            } catch (AmazonEC2Exception e) {
+                metrics.recordCall(operation, elapsedMillis(start), e.getErrorCode());
+                callsOnThread.lastRequestId = e.getRequestId();
+                call.end(callsOnThread.lastRequestId, e.getErrorCode());
+                attempt++;
+                final boolean retryable = isThrottlingEc2Error(e.getErrorCode())
+                        || (retryTransientErrors && isTransientEc2Error(e.getErrorCode()));
+                if (!retryable || attempt >= maxAttempts || !pause(backoffMillis(attempt))) {
+                    throw e;
+                }
+                metrics.recordRetry(operation);
+            } catch (SdkClientException e) {
+                metrics.recordCall(operation, elapsedMillis(start), e.getClass().getSimpleName());
+                call.end(null, e.getClass().getSimpleName());
+                attempt++;
+                // A client-side failure such as a timeout or reset connection may or may not have reached EC2
+                final boolean retryable = retryTransientErrors && !(e instanceof AmazonServiceException) && e.isRetryable();
+                if (!retryable || attempt >= maxAttempts || !pause(backoffMillis(attempt))) {
+                    throw e;
+                }
+                metrics.recordRetry(operation);
+            } catch (RuntimeException e) {
+                metrics.recordCall(operation, elapsedMillis(start), e.getClass().getSimpleName());
+                call.end(null, e.getClass().getSimpleName());
+                throw e;
+            }
+        }
+    }
+
+    private static String requestIdOf(final AmazonWebServiceResult<ResponseMetadata> result) {
+        return result != null && result.getSdkResponseMetadata() != null ? result.getSdkResponseMetadata().getRequestId() : null;
+    }
+
+    private static long elapsedMillis(final long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private long backoffMillis(final int attempt) {
+        final long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 30));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * @return false if the thread was interrupted, in which case the caller should stop retrying
+     */
+    private boolean pause(final long millis) {
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            sleeper.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.amazonaws.ec2.carriergateway;
+
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import static com.amazonaws.ec2.carriergateway.Constants.METRICS_MAX_LATENCY_SAMPLES;
+import static com.amazonaws.ec2.carriergateway.Constants.METRICS_NAMESPACE;
+
+/**
+ * Aggregates per-operation EC2 call metrics in memory and writes them out as CloudWatch
+ * Embedded Metric Format log lines, one line per operation, when a handler finishes.
+ *
+ * Recording only updates a small per-operation record, so it is cheap enough to leave on for
+ * every call. Each flush drains what was recorded since the previous flush.
+ */
+class Ec2Metrics {
+    private static final Ec2Metrics INSTANCE = new Ec2Metrics(System::currentTimeMillis);
+
+    private static final class OperationMetrics {
+        private final long[] latencies = new long[METRICS_MAX_LATENCY_SAMPLES];
+        private final Map<String, Integer> errorCodes = new TreeMap<>();
+        private int samples;
+        private int calls;
+        private int errors;
+        private int throttles;
+        private int retries;
+    }
+
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    Ec2Metrics(final LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    static Ec2Metrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records one attempt of an EC2 call; each page of a paginated describe counts as a call.
+     *
+     * @param errorCode the EC2 error code if the attempt failed, otherwise null
+     */
+    void recordCall(final String operation, final long latencyMillis, final String errorCode) {
+        operations.compute(operation, (name, metrics) -> {
+            final OperationMetrics updated = metrics != null ? metrics : new OperationMetrics();
+            updated.calls++;
+            if (updated.samples < updated.latencies.length) {
+                updated.latencies[updated.samples++] = latencyMillis;
+            }
+            if (errorCode != null) {
+                updated.errors++;
+                if (Translator.isThrottlingEc2Error(errorCode)) {
+                    updated.throttles++;
+                }
+                updated.errorCodes.merge(errorCode, 1, Integer::sum);
+            }
+            return updated;
+        });
+    }
+
+    void recordRetry(final String operation) {
+        operations.compute(operation, (name, metrics) -> {
+            final OperationMetrics updated = metrics != null ? metrics : new OperationMetrics();
+            updated.retries++;
+            return updated;
+        });
+    }
+
+    /**
+     * Writes everything recorded since the last flush to the logger and resets it. Removing an
+     * operation's record is atomic with recording into it, so nothing is lost or written twice.
+     */
+    void flush(final Logger logger) {
+        final long timestamp = clock.getAsLong();
+        for (final String operation : new ArrayList<>(operations.keySet())) {
+            final OperationMetrics metrics = operations.remove(operation);
+            if (metrics != null && logger != null) {
+                logger.log(toEmf(operation, metrics, timestamp));
+            }
+        }
+    }
+
+    private static String toEmf(final String operation, final OperationMetrics metrics, final long timestamp) {
+        final StringBuilder json = new StringBuilder(512)
+                .append("{\"_aws\":{\"Timestamp\":").append(timestamp)
+                .append(",\"CloudWatchMetrics\":[{\"Namespace\":\"").append(METRICS_NAMESPACE)
+                .append("\",\"Dimensions\":[[\"Operation\"]],\"Metrics\":[")
+                .append("{\"Name\":\"Latency\",\"Unit\":\"Milliseconds\"},")
+                .append("{\"Name\":\"Calls\",\"Unit\":\"Count\"},")
+                .append("{\"Name\":\"Errors\",\"Unit\":\"Count\"},")
+                .append("{\"Name\":\"Throttles\",\"Unit\":\"Count\"},")
+                .append("{\"Name\":\"Retries\",\"Unit\":\"Count\"}]}]},")
+                .append("\"Operation\":\"").append(escape(operation)).append("\",")
+                .append("\"Latency\":[");
+        for (int i = 0; i < metrics.samples; i++) {
+            json.append(i == 0 ? "" : ",").append(metrics.latencies[i]);
+        }
+        json.append("],\"Calls\":").append(metrics.calls)
+                .append(",\"Errors\":").append(metrics.errors)
+                .append(",\"Throttles\":").append(metrics.throttles)
+                .append(",\"Retries\":").append(metrics.retries)
+                .append(",\"ErrorCodes\":{");
+        boolean first = true;
+        for (final Map.Entry<String, Integer> entry : metrics.errorCodes.entrySet()) {
+            json.append(first ? "" : ",").append('"').append(escape(entry.getKey())).append("\":").append(entry.getValue());
+            first = false;
+        }
+        return json.append("}}").toString();
+    }
+
+    static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,38 @@
+package com.amazonaws.ec2.carriergateway;
+
+import java.util.function.Function;
+
+/**
+ * Reads the numeric settings that can be overridden through the environment. A value that is unset,
+ * not a number, negative or outside the setting's bounds is ignored and the default used instead, so
+ * a bad override never stops the handlers from starting.
+ */
+final class EnvironmentSettings {
+
+    private EnvironmentSettings() {
+    }
+
+    /**
+     * @param minValue the smallest value accepted; values below zero are never accepted
+     * @param maxValue the largest value accepted
+     * @return the value of {@code name} in {@code environment}, or {@code defaultValue} if it is unset or not accepted
+     */
+    static double readNumber(
+            final Function<String, String> environment,
+            final String name,
+            final double defaultValue,
+            final double minValue,
+            final double maxValue) {
+        final String value = environment.apply(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        final double parsed;
+        try {
+            parsed = Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+        return parsed >= Math.max(0, minValue) && parsed <= maxValue ? parsed : defaultValue;
+    }
+}
@@ -0,0 +1,42 @@
+package com.amazonaws.ec2.carriergateway;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with equal jitter: the delay for attempt n is drawn from
+ * [d / 2, d] where d = min(maxDelaySeconds, initialDelaySeconds * 2^n).
+ */
+class ExponentialBackoffStrategy implements DelayStrategy {
+    private static final int MAX_SHIFT = 30;
+
+    private final int initialDelaySeconds;
+    private final int maxDelaySeconds;
+    private final Random random;
+
+    ExponentialBackoffStrategy(final int initialDelaySeconds, final int maxDelaySeconds) {
+        this(initialDelaySeconds, maxDelaySeconds, null);
+    }
+
+    ExponentialBackoffStrategy(final int initialDelaySeconds, final int maxDelaySeconds, final Random random) {
+        if (initialDelaySeconds < 1 || maxDelaySeconds < initialDelaySeconds) {
+            throw new IllegalArgumentException("Invalid backoff bounds: initial " + initialDelaySeconds
+                    + "s, max " + maxDelaySeconds + "s");
+        }
+        this.initialDelaySeconds = initialDelaySeconds;
+        this.maxDelaySeconds = maxDelaySeconds;
+        this.random = random;
+    }
+
+    @Override
+    public int nextDelaySeconds(final int attempt) {
+        final long exponential = (long) initialDelaySeconds << Math.min(Math.max(attempt, 0), MAX_SHIFT);
+        final int ceiling = (int) Math.min(maxDelaySeconds, exponential);
+        final int jitterRange = ceiling / 2;
+        if (jitterRange == 0) {
+            return ceiling;
+        }
+        final Random source = random != null ? random : ThreadLocalRandom.current();
+        return ceiling - source.nextInt(jitterRange + 1);
+    }
+}
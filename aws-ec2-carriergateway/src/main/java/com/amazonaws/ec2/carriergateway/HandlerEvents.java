@@ -0,0 +1,63 @@
+package com.amazonaws.ec2.carriergateway;
+
+/**
+ * Java Flight Recorder events for handler phases and EC2 calls.
+ *
+ * Start a recording in a container with, for example,
+ * {@code JAVA_TOOL_OPTIONS=-XX:StartFlightRecording=filename=/tmp/handlers.jfr}. While no recording
+ * has the events enabled, a phase costs one allocation-free check. On a JVM without {@code jdk.jfr}
+ * every method is a no-op and {@link JfrRecorder} is never loaded.
+ */
+final class HandlerEvents {
+
+    /**
+     * A handler phase in progress.
+     */
+    interface Phase {
+        /**
+         * @param carrierGatewayId the gateway the phase worked on, or null if there was none
+         */
+        void end(String carrierGatewayId);
+    }
+
+    /**
+     * One attempt of an EC2 call in progress.
+     */
+    interface Call {
+        /**
+         * @param errorCode the error the attempt failed with, or null if it succeeded
+         */
+        void end(String requestId, String errorCode);
+    }
+
+    interface Recorder {
+        Phase beginPhase(String handler, String phase);
+
+        Call beginCall(String operation, int attempt);
+    }
+
+    static final Phase NO_OP_PHASE = carrierGatewayId -> { };
+    static final Call NO_OP_CALL = (requestId, errorCode) -> { };
+
+    private static final Recorder RECORDER = loadRecorder();
+
+    private HandlerEvents() {
+    }
+
+    static Phase beginPhase(final String handler, final String phase) {
+        return RECORDER == null ? NO_OP_PHASE : RECORDER.beginPhase(handler, phase);
+    }
+
+    static Call beginCall(final String operation, final int attempt) {
+        return RECORDER == null ? NO_OP_CALL : RECORDER.beginCall(operation, attempt);
+    }
+
+    private static Recorder loadRecorder() {
+        try {
+            Class.forName("jdk.jfr.Event", false, HandlerEvents.class.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+        return new JfrRecorder();
+    }
+}
@@ -0,0 +1,84 @@
+package com.amazonaws.ec2.carriergateway;
+
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static com.amazonaws.ec2.carriergateway.Constants.HANDLER_TIMEOUT_MARGIN_MILLIS;
+import static com.amazonaws.ec2.carriergateway.Constants.HANDLER_TIMEOUT_MILLIS;
+
+/**
+ * Polls a resource a few times inside the current invocation so that short
+ * transitions finish without a round trip through a CloudFormation callback.
+ * Waiting stops once the next poll would start past the time budget, leaving
+ * the handler enough time to return an IN_PROGRESS event instead.
+ *
+ * The budget is also capped by what is left of the invocation: time already spent
+ * on the create or delete call and its retries counts against the handler timeout,
+ * so polling stops a safety margin before that timeout whatever the budget says.
+ */
+class InlineWaiter {
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    private final long budgetMillis;
+    private final long pollIntervalMillis;
+    private final LongSupplier clock;
+    private final Sleeper sleeper;
+
+    InlineWaiter(final long budgetMillis, final long pollIntervalMillis) {
+        this(budgetMillis, pollIntervalMillis, System::currentTimeMillis, Thread::sleep);
+    }
+
+    InlineWaiter(final long budgetMillis,
+                 final long pollIntervalMillis,
+                 final LongSupplier clock,
+                 final Sleeper sleeper) {
+        this.budgetMillis = budgetMillis;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.clock = clock;
+        this.sleeper = sleeper;
+    }
+
+    /**
+     * @return the current time on this waiter's clock, for marking when an invocation started
+     */
+    long now() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * @return whether an invocation that started at {@code invocationStartedAt} still has time for a poll
+     */
+    boolean hasTimeLeft(final long invocationStartedAt) {
+        return clock.getAsLong() < latestPollStart(invocationStartedAt);
+    }
+
+    /**
+     * Polls at least once and keeps polling until {@code isDone} accepts the result or the budget runs out.
+     *
+     * @param invocationStartedAt when the current handler invocation started, on this waiter's clock
+     * @return the last polled value, which callers check again to decide between SUCCESS and IN_PROGRESS
+     */
+    <T> T waitFor(final Supplier<T> poll, final Predicate<T> isDone, final long invocationStartedAt) {
+        final long deadline = Math.min(clock.getAsLong() + budgetMillis, latestPollStart(invocationStartedAt));
+        T result = poll.get();
+        while (!isDone.test(result) && clock.getAsLong() + pollIntervalMillis < deadline) {
+            try {
+                sleeper.sleep(pollIntervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return result;
+            }
+            result = poll.get();
+        }
+        return result;
+    }
+
+    private static long latestPollStart(final long invocationStartedAt) {
+        return invocationStartedAt + HANDLER_TIMEOUT_MILLIS - HANDLER_TIMEOUT_MARGIN_MILLIS;
+    }
+}
@@ -0,0 +1,100 @@
+package com.amazonaws.ec2.carriergateway;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Records {@link HandlerEvents} as JFR events. Only loaded once {@code jdk.jfr} is known to exist.
+ *
+ * Whether an event is enabled is asked of its {@link EventType}, looked up once, so no event object
+ * is allocated while no recording wants it.
+ */
+final class JfrRecorder implements HandlerEvents.Recorder {
+    static final String PHASE_EVENT_NAME = "com.amazonaws.ec2.carriergateway.HandlerPhase";
+    static final String CALL_EVENT_NAME = "com.amazonaws.ec2.carriergateway.Ec2Call";
+
+    @Name(PHASE_EVENT_NAME)
+    @Label("Handler Phase")
+    @Category({"AWS", "EC2 Carrier Gateway"})
+    @Description("A phase of a carrier gateway resource handler")
+    static final class HandlerPhaseEvent extends Event {
+        @Label("Handler")
+        String handler;
+
+        @Label("Phase")
+        String phase;
+
+        @Label("Carrier Gateway ID")
+        String carrierGatewayId;
+
+        @Label("EC2 Request ID")
+        @Description("Request ID of the last EC2 call made during the phase")
+        String requestId;
+    }
+
+    @Name(CALL_EVENT_NAME)
+    @Label("EC2 Call")
+    @Category({"AWS", "EC2 Carrier Gateway"})
+    @Description("One attempt of an EC2 API call")
+    static final class Ec2CallEvent extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Attempt")
+        int attempt;
+
+        @Label("EC2 Request ID")
+        String requestId;
+
+        @Label("Error Code")
+        String errorCode;
+    }
+
+    private static final EventType PHASE_EVENT_TYPE = EventType.getEventType(HandlerPhaseEvent.class);
+    private static final EventType CALL_EVENT_TYPE = EventType.getEventType(Ec2CallEvent.class);
+
+    @Override
+    public HandlerEvents.Phase beginPhase(final String handler, final String phase) {
+        if (!PHASE_EVENT_TYPE.isEnabled()) {
+            return HandlerEvents.NO_OP_PHASE;
+        }
+        final HandlerPhaseEvent event = new HandlerPhaseEvent();
+        final int callsAtBegin = Ec2Invoker.callsOnCurrentThread();
+        event.begin();
+        return carrierGatewayId -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.handler = handler;
+                event.phase = phase;
+                event.carrierGatewayId = carrierGatewayId;
+                if (Ec2Invoker.callsOnCurrentThread() != callsAtBegin) {
+                    event.requestId = Ec2Invoker.lastRequestIdOnCurrentThread();
+                }
+                event.commit();
+            }
+        };
+    }
+
+    @Override
+    public HandlerEvents.Call beginCall(final String operation, final int attempt) {
+        if (!CALL_EVENT_TYPE.isEnabled()) {
+            return HandlerEvents.NO_OP_CALL;
+        }
+        final Ec2CallEvent event = new Ec2CallEvent();
+        event.begin();
+        return (requestId, errorCode) -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.attempt = attempt;
+                event.requestId = requestId;
+                event.errorCode = errorCode;
+                event.commit();
+            }
+        };
+    }
+}
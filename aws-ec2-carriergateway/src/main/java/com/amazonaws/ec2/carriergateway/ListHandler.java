@@ -1,22 +1,30 @@
 package com.amazonaws.ec2.carriergateway;
 
-import com.amazonaws.services.ec2.AmazonEC2;
-import com.amazonaws.services.ec2.model.CarrierGateway;
 import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysRequest;
 import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysResult;
+import com.amazonaws.services.ec2.model.Filter;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
-import java.util.ArrayList;
 import java.util.List;
 
-import static java.util.stream.Collectors.toList;
+import static com.amazonaws.ec2.carriergateway.Constants.LIST_MAX_RESULTS;
+import static com.amazonaws.ec2.carriergateway.Translator.createFiltersFromModel;
+import static com.amazonaws.ec2.carriergateway.Translator.createModelsFromCarrierGateways;
 
 public class ListHandler extends BaseHandler<CallbackContext> {
+    private final Ec2Invoker invoker;
 
+    public ListHandler() {
+        this(Ec2Invoker.getInstance());
+    }
+
+    ListHandler(final Ec2Invoker invoker) {
+        this.invoker = invoker;
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -24,31 +32,50 @@ public class ListHandler extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
+        try {
+            return handle(proxy, request);
+        } finally {
+            Ec2Metrics.getInstance().flush(logger);
+        }
+    }
 
-        final List<ResourceModel> models = describeAllCarrierGateways(proxy, ClientBuilder.getClient());
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request) {
+
+        final HandlerEvents.Phase pageFetch = HandlerEvents.beginPhase("List", "PageFetch");
+        final DescribeCarrierGatewaysResult result;
+        try {
+            result = describeCarrierGatewaysPage(
+                    request.getDesiredResourceState(), request.getNextToken(), proxy, ClientBuilder.getClient());
+        } finally {
+            pageFetch.end(null);
+        }
+
+        final HandlerEvents.Phase translation = HandlerEvents.beginPhase("List", "Translate");
+        final List<ResourceModel> models = createModelsFromCarrierGateways(result.getCarrierGateways());
+        translation.end(null);
 
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
                 .resourceModels(models)
+                .nextToken(result.getNextToken())
                 .status(OperationStatus.SUCCESS)
                 .build();
     }
 
-    private List<ResourceModel> describeAllCarrierGateways(
+    private DescribeCarrierGatewaysResult describeCarrierGatewaysPage(
+            final ResourceModel model,
+            final String nextToken,
             final AmazonWebServicesClientProxy proxy,
-            final AmazonEC2 client) {
-
-        List<CarrierGateway> cagws = new ArrayList<>();
-        String nextToken = null;
-        do {
-            final DescribeCarrierGatewaysRequest request = new DescribeCarrierGatewaysRequest()
-                    .withNextToken(nextToken);
-            final DescribeCarrierGatewaysResult result = proxy.injectCredentialsAndInvoke(request, client::describeCarrierGateways);
-            nextToken = result.getNextToken();
-            cagws.addAll(result.getCarrierGateways());
-        } while (nextToken != null);
-        return cagws
-                .stream()
-                .map(Translator::createModelFromCarrierGateway)
-                .collect(toList());
+            final Ec2Gateway client) {
+
+        final List<Filter> filters = createFiltersFromModel(model);
+        final DescribeCarrierGatewaysRequest request = new DescribeCarrierGatewaysRequest()
+                .withMaxResults(LIST_MAX_RESULTS)
+                .withNextToken(nextToken);
+        if (!filters.isEmpty()) {
+            request.withFilters(filters);
+        }
+        return invoker.invoke(proxy, request, client::describeCarrierGateways);
     }
 }
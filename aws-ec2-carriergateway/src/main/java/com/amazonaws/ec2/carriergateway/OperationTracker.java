@@ -0,0 +1,140 @@
+package com.amazonaws.ec2.carriergateway;
+
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import java.util.function.LongSupplier;
+
+import static com.amazonaws.ec2.carriergateway.Constants.METRICS_NAMESPACE;
+
+/**
+ * Follows one create, update or delete across all of its handler invocations.
+ *
+ * The start time, callback and API call counts and the time spent in each carrier gateway state
+ * travel in the {@link CallbackContext}, so every invocation picks up where the previous one left
+ * off. Time between invocations is charged to the last state that was observed. When the
+ * operation ends, one Embedded Metric Format line summarising it is written to the logger.
+ */
+final class OperationTracker {
+    static final String PENDING = "pending";
+    static final String DELETING = "deleting";
+    static final String DELETED = "deleted";
+
+    private final String operation;
+    private final LongSupplier clock;
+    private final long startedAt;
+    private final int callbackCount;
+    private final int apiCallsBefore;
+    private final int threadCallsAtStart;
+
+    private String lastObservedState;
+    private long lastObservedAt;
+    private long pendingMillis;
+    private long deletingMillis;
+
+    OperationTracker(final String operation, final CallbackContext callbackContext, final LongSupplier clock) {
+        this.operation = operation;
+        this.clock = clock;
+        this.threadCallsAtStart = Ec2Invoker.callsOnCurrentThread();
+        final long now = clock.getAsLong();
+        if (callbackContext == null || callbackContext.getOperationStartedAt() == 0) {
+            this.startedAt = now;
+            this.callbackCount = 0;
+            this.apiCallsBefore = 0;
+        } else {
+            this.startedAt = callbackContext.getOperationStartedAt();
+            this.callbackCount = callbackContext.getCallbackCount();
+            this.apiCallsBefore = callbackContext.getApiCallCount();
+            this.lastObservedState = callbackContext.getLastObservedState();
+            this.lastObservedAt = callbackContext.getLastObservedAt();
+            this.pendingMillis = callbackContext.getPendingMillis();
+            this.deletingMillis = callbackContext.getDeletingMillis();
+        }
+    }
+
+    static OperationTracker resume(final String operation, final CallbackContext callbackContext) {
+        return new OperationTracker(operation, callbackContext, System::currentTimeMillis);
+    }
+
+    /**
+     * Notes the state of a freshly read model and passes the model through, so it can wrap a read.
+     * A null model, such as a gateway that is not visible yet, leaves the last state in place.
+     */
+    ResourceModel observe(final ResourceModel model) {
+        if (model != null) {
+            checkpoint();
+            lastObservedState = model.getState();
+        }
+        return model;
+    }
+
+    /**
+     * @return a context builder carrying the tracking state forward into the next callback
+     */
+    CallbackContext.CallbackContextBuilder contextBuilder() {
+        checkpoint();
+        return CallbackContext.builder()
+                .operationStartedAt(startedAt)
+                .callbackCount(callbackCount + 1)
+                .apiCallCount(apiCallCount())
+                .lastObservedState(lastObservedState)
+                .lastObservedAt(lastObservedAt)
+                .pendingMillis(pendingMillis)
+                .deletingMillis(deletingMillis);
+    }
+
+    /**
+     * Logs the summary if the operation has ended. A null event means the handler threw, which
+     * CloudFormation reports as a failure.
+     */
+    void finish(final ProgressEvent<ResourceModel, CallbackContext> event, final String cagwId, final Logger logger) {
+        if (logger == null || (event != null && event.getStatus() == OperationStatus.IN_PROGRESS)) {
+            return;
+        }
+        checkpoint();
+        final OperationStatus status = event == null ? OperationStatus.FAILED : event.getStatus();
+        logger.log(toEmf(status, cagwId));
+    }
+
+    private void checkpoint() {
+        final long now = clock.getAsLong();
+        if (lastObservedState != null) {
+            final long elapsed = Math.max(0L, now - lastObservedAt);
+            if (PENDING.equals(lastObservedState)) {
+                pendingMillis += elapsed;
+            } else if (DELETING.equals(lastObservedState)) {
+                deletingMillis += elapsed;
+            }
+        }
+        lastObservedAt = now;
+    }
+
+    private int apiCallCount() {
+        return apiCallsBefore + Ec2Invoker.callsOnCurrentThread() - threadCallsAtStart;
+    }
+
+    private String toEmf(final OperationStatus status, final String cagwId) {
+        final StringBuilder json = new StringBuilder(512)
+                .append("{\"_aws\":{\"Timestamp\":").append(lastObservedAt)
+                .append(",\"CloudWatchMetrics\":[{\"Namespace\":\"").append(METRICS_NAMESPACE)
+                .append("\",\"Dimensions\":[[\"Handler\"],[\"Handler\",\"Status\"]],\"Metrics\":[")
+                .append("{\"Name\":\"WallTime\",\"Unit\":\"Milliseconds\"},")
+                .append("{\"Name\":\"Callbacks\",\"Unit\":\"Count\"},")
+                .append("{\"Name\":\"ApiCalls\",\"Unit\":\"Count\"},")
+                .append("{\"Name\":\"PendingTime\",\"Unit\":\"Milliseconds\"},")
+                .append("{\"Name\":\"DeletingTime\",\"Unit\":\"Milliseconds\"}]}]},")
+                .append("\"Handler\":\"").append(operation).append("\",")
+                .append("\"Status\":\"").append(status).append("\",");
+        if (cagwId != null) {
+            json.append("\"CarrierGatewayId\":\"").append(Ec2Metrics.escape(cagwId)).append("\",");
+        }
+        return json.append("\"WallTime\":").append(Math.max(0L, lastObservedAt - startedAt))
+                .append(",\"Callbacks\":").append(callbackCount)
+                .append(",\"ApiCalls\":").append(apiCallCount())
+                .append(",\"PendingTime\":").append(pendingMillis)
+                .append(",\"DeletingTime\":").append(deletingMillis)
+                .append('}')
+                .toString();
+    }
+}
@@ -0,0 +1,119 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.services.ec2.model.CarrierGateway;
+import com.amazonaws.services.ec2.model.CreateCarrierGatewayRequest;
+import com.amazonaws.services.ec2.model.CreateTagsRequest;
+import com.amazonaws.services.ec2.model.DeleteCarrierGatewayRequest;
+import com.amazonaws.services.ec2.model.DeleteTagsRequest;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysRequest;
+import com.fasterxml.jackson.core.type.TypeReference;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.resource.Serializer;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Warms up what the first invocation in a container would otherwise pay for: building the EC2
+ * client, the SDK request marshallers, translation between SDK and resource model types, and the
+ * JSON serialization of models and progress events.
+ *
+ * Runs from {@link Configuration}, which the generated HandlerWrapper builds during the Lambda init
+ * phase, so the work is done before the first request arrives. Every step is best effort: anything
+ * that fails here simply happens again, for real, on first use. Set
+ * {@code CARRIER_GATEWAY_PRIME_ON_INIT=false} to turn it off.
+ */
+final class Priming {
+    static final String PRIME_ON_INIT_ENV = "CARRIER_GATEWAY_PRIME_ON_INIT";
+
+    private static final String SAMPLE_CAGW_ID = "cagw-00000000000000000";
+    private static final String SAMPLE_VPC_ID = "vpc-00000000000000000";
+
+    private static final AtomicBoolean PRIMED = new AtomicBoolean();
+
+    private Priming() {
+    }
+
+    static void primeOnInit() {
+        if (!"false".equalsIgnoreCase(System.getenv(PRIME_ON_INIT_ENV))) {
+            prime();
+        }
+    }
+
+    /**
+     * @return false if the container was already primed
+     */
+    static boolean prime() {
+        if (!PRIMED.compareAndSet(false, true)) {
+            return false;
+        }
+        bestEffort(Priming::primeClient);
+        bestEffort(Priming::primeTranslation);
+        bestEffort(Priming::primeSerialization);
+        bestEffort(Priming::primeInstrumentation);
+        return true;
+    }
+
+    static void primeClient() {
+        ClientBuilder.getClient();
+        // Marshalling a dry-run request loads the same marshallers a real call uses, without a network call
+        new CreateCarrierGatewayRequest().withVpcId(SAMPLE_VPC_ID).getDryRunRequest();
+        new DescribeCarrierGatewaysRequest().withCarrierGatewayIds(SAMPLE_CAGW_ID).getDryRunRequest();
+        new DeleteCarrierGatewayRequest().withCarrierGatewayId(SAMPLE_CAGW_ID).getDryRunRequest();
+        new CreateTagsRequest().withResources(SAMPLE_CAGW_ID).withTags(sampleSdkTag()).getDryRunRequest();
+        new DeleteTagsRequest().withResources(SAMPLE_CAGW_ID).withTags(sampleSdkTag()).getDryRunRequest();
+    }
+
+    static void primeTranslation() {
+        final ResourceModel model = Translator.createModelsFromCarrierGateways(Collections.singletonList(sampleCarrierGateway())).get(0);
+        model.getTags().forEach(Translator::createSdkTagFromCfnTag);
+        Translator.createFiltersFromModel(model);
+        TagDiff.between(model.getTags(), Collections.emptySet()).getTagsToDelete();
+        Translator.getHandlerErrorForEc2Error("RequestLimitExceeded");
+    }
+
+    static void primeSerialization() {
+        final Serializer serializer = new Serializer();
+        final ResourceModel model = Translator.createModelFromCarrierGateway(sampleCarrierGateway());
+        try {
+            serializer.deserialize(serializer.serialize(model), new TypeReference<ResourceModel>() { });
+            serializer.serialize(ProgressEvent.<ResourceModel, CallbackContext>builder()
+                    .resourceModel(model)
+                    .callbackContext(CallbackContext.builder().createStarted(true).build())
+                    .status(OperationStatus.IN_PROGRESS)
+                    .build());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static void primeInstrumentation() {
+        final Ec2Metrics metrics = new Ec2Metrics(System::currentTimeMillis);
+        metrics.recordCall("Priming", 0L, "RequestLimitExceeded");
+        metrics.flush(message -> { });
+        HandlerEvents.beginPhase("Init", "Priming").end(null);
+    }
+
+    private static CarrierGateway sampleCarrierGateway() {
+        return new CarrierGateway()
+                .withCarrierGatewayId(SAMPLE_CAGW_ID)
+                .withVpcId(SAMPLE_VPC_ID)
+                .withOwnerId("000000000000")
+                .withState(OperationTracker.PENDING)
+                .withTags(sampleSdkTag());
+    }
+
+    private static com.amazonaws.services.ec2.model.Tag sampleSdkTag() {
+        return new com.amazonaws.services.ec2.model.Tag().withKey("Name").withValue("priming");
+    }
+
+    private static void bestEffort(final Runnable step) {
+        try {
+            step.run();
+        } catch (RuntimeException | LinkageError e) {
+            // left for the first real invocation to do, and to report if it still fails
+        }
+    }
+}
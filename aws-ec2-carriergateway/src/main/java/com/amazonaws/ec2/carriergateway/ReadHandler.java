@@ -1,6 +1,5 @@
 package com.amazonaws.ec2.carriergateway;
 
-import com.amazonaws.services.ec2.AmazonEC2;
 import com.amazonaws.services.ec2.model.AmazonEC2Exception;
 import com.amazonaws.services.ec2.model.CarrierGateway;
 import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysRequest;
@@ -16,6 +15,15 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import static com.amazonaws.ec2.carriergateway.Translator.createModelFromCarrierGateway;
 
 public class ReadHandler extends BaseHandler<CallbackContext> {
+    private final Ec2Invoker invoker;
+
+    public ReadHandler() {
+        this(Ec2Invoker.getInstance());
+    }
+
+    ReadHandler(final Ec2Invoker invoker) {
+        this.invoker = invoker;
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -25,18 +33,40 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
             final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
-        final AmazonEC2 client = ClientBuilder.getClient();
+        try {
+            return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                    .resourceModel(read(model.getCarrierGatewayId(), proxy))
+                    .status(OperationStatus.SUCCESS)
+                    .build();
+        } finally {
+            Ec2Metrics.getInstance().flush(logger);
+        }
+    }
+
+    /**
+     * Reads a carrier gateway without flushing metrics, for handlers that poll it as part of their own operation.
+     *
+     * @throws CfnNotFoundException if the carrier gateway does not exist, including one EC2 still lists as deleted
+     */
+    ResourceModel read(
+            final String cagwId,
+            final AmazonWebServicesClientProxy proxy) {
 
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .resourceModel(describeCarrierGateway(model.getCarrierGatewayId(), proxy, client))
-                .status(OperationStatus.SUCCESS)
-                .build();
+        final CarrierGateway cagw = describe(cagwId, proxy, ClientBuilder.getClient());
+        // Deleted gateways stay visible to DescribeCarrierGateways for a while, but no longer exist
+        if (cagw == null || OperationTracker.DELETED.equals(cagw.getState())) {
+            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, cagwId);
+        }
+        return createModelFromCarrierGateway(cagw);
     }
 
-    private ResourceModel describeCarrierGateway(
+    /**
+     * @return the carrier gateway, or null if EC2 does not know it
+     */
+    private CarrierGateway describe(
             final String cagwId,
             final AmazonWebServicesClientProxy proxy,
-            final AmazonEC2 client) {
+            final Ec2Gateway client) {
 
         String nextToken = null;
         CarrierGateway cagw = null;
@@ -45,7 +75,7 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
                 final DescribeCarrierGatewaysRequest request = new DescribeCarrierGatewaysRequest()
                         .withCarrierGatewayIds(cagwId)
                         .withNextToken(nextToken);
-                final DescribeCarrierGatewaysResult result = proxy.injectCredentialsAndInvoke(request, client::describeCarrierGateways);
+                final DescribeCarrierGatewaysResult result = invoker.invoke(proxy, request, client::describeCarrierGateways);
                 if (result.getCarrierGateways().size() > 1) {
                     throw new CfnGeneralServiceException("Should be 1 cagw when reading, but was " + result.getCarrierGateways());
                 }
@@ -54,13 +84,10 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
                 }
                 nextToken = result.getNextToken();
             } while (cagw == null && nextToken != null);
-            if (cagw == null) {
-                throw new CfnNotFoundException(ResourceModel.TYPE_NAME, cagwId);
-            }
-            return createModelFromCarrierGateway(cagw);
+            return cagw;
         } catch (AmazonEC2Exception e) {
             if ("InvalidCarrierGatewayID.NotFound".equals(e.getErrorCode())) {
-                throw new CfnNotFoundException(ResourceModel.TYPE_NAME, cagwId);
+                return null;
             }
             throw e;
         }
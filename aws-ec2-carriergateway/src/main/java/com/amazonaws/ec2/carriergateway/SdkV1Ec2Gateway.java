@@ -0,0 +1,49 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.services.ec2.AmazonEC2;
+import com.amazonaws.services.ec2.model.CreateCarrierGatewayRequest;
+import com.amazonaws.services.ec2.model.CreateCarrierGatewayResult;
+import com.amazonaws.services.ec2.model.CreateTagsRequest;
+import com.amazonaws.services.ec2.model.CreateTagsResult;
+import com.amazonaws.services.ec2.model.DeleteCarrierGatewayRequest;
+import com.amazonaws.services.ec2.model.DeleteCarrierGatewayResult;
+import com.amazonaws.services.ec2.model.DeleteTagsRequest;
+import com.amazonaws.services.ec2.model.DeleteTagsResult;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysRequest;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysResult;
+
+/**
+ * {@link Ec2Gateway} on the SDK v1 {@link AmazonEC2} client. This is the default.
+ */
+final class SdkV1Ec2Gateway implements Ec2Gateway {
+    private final AmazonEC2 client;
+
+    SdkV1Ec2Gateway(final AmazonEC2 client) {
+        this.client = client;
+    }
+
+    @Override
+    public CreateCarrierGatewayResult createCarrierGateway(final CreateCarrierGatewayRequest request) {
+        return client.createCarrierGateway(request);
+    }
+
+    @Override
+    public DescribeCarrierGatewaysResult describeCarrierGateways(final DescribeCarrierGatewaysRequest request) {
+        return client.describeCarrierGateways(request);
+    }
+
+    @Override
+    public DeleteCarrierGatewayResult deleteCarrierGateway(final DeleteCarrierGatewayRequest request) {
+        return client.deleteCarrierGateway(request);
+    }
+
+    @Override
+    public CreateTagsResult createTags(final CreateTagsRequest request) {
+        return client.createTags(request);
+    }
+
+    @Override
+    public DeleteTagsResult deleteTags(final DeleteTagsRequest request) {
+        return client.deleteTags(request);
+    }
+}
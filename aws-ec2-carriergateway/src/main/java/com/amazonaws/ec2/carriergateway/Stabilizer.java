@@ -0,0 +1,103 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.services.ec2.model.AmazonEC2Exception;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import static com.amazonaws.ec2.carriergateway.Translator.getHandlerErrorForEc2Error;
+
+/**
+ * The stabilization step shared by the handlers that wait for EC2 to finish: polls inline within
+ * the {@link InlineWaiter} budget, then either completes the operation or hands back to
+ * CloudFormation with an IN_PROGRESS event whose delay comes from the {@link DelayStrategy}.
+ * Stabilizer itself neither waits nor picks delays; it only turns the outcome of the poll into an
+ * event. A handler supplies what differs between operations: how to poll, when the polled model is
+ * stable, and which started flag to carry in the callback context.
+ *
+ * This is the part the plugin's CallChain stabilize step would take over. CallChain is not used
+ * because it puts SDK v2 types into the handlers themselves: it invokes through
+ * ProxyClient.injectCredentialsAndInvokeV2 with v2 requests and needs a callback context extending
+ * StdCallbackContext. Here v2 stays behind {@link Ec2Gateway}, converted from the v1 model the
+ * handlers, Translator and {@link Ec2Invoker} use, and only in builds with the sdk-v2 profile.
+ */
+class Stabilizer {
+    private final DelayStrategy delayStrategy;
+    private final InlineWaiter inlineWaiter;
+
+    Stabilizer(final DelayStrategy delayStrategy, final InlineWaiter inlineWaiter) {
+        this.delayStrategy = delayStrategy;
+        this.inlineWaiter = inlineWaiter;
+    }
+
+    /**
+     * @return the time an invocation starting now should pass to {@link #stabilize}
+     */
+    long startInvocation() {
+        return inlineWaiter.now();
+    }
+
+    /**
+     * @param model        reported with IN_PROGRESS and FAILED events when the poll returns nothing better
+     * @param attempt      stabilization callbacks already scheduled for this operation
+     * @param poll         reads the current model; may return null
+     * @param isStable     accepts the polled model once the operation is complete
+     * @param markStarted  sets the handler's started flag on the context for the next callback
+     * @param invocationStartedAt from {@link #startInvocation()} at handler entry; no poll starts once too little of the invocation is left
+     * @return SUCCESS with the polled model, IN_PROGRESS to poll again later, or FAILED if EC2 rejected a poll
+     */
+    ProgressEvent<ResourceModel, CallbackContext> stabilize(
+            final ResourceModel model,
+            final int attempt,
+            final Supplier<ResourceModel> poll,
+            final Predicate<ResourceModel> isStable,
+            final UnaryOperator<CallbackContext.CallbackContextBuilder> markStarted,
+            final OperationTracker tracker,
+            final long invocationStartedAt) {
+
+        if (!inlineWaiter.hasTimeLeft(invocationStartedAt)) {
+            return inProgress(model, null, attempt, markStarted, tracker);
+        }
+        final ResourceModel polled;
+        try {
+            polled = inlineWaiter.waitFor(poll, isStable, invocationStartedAt);
+        } catch (AmazonEC2Exception e) {
+            return failed(model, e);
+        }
+        if (isStable.test(polled)) {
+            return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                    .resourceModel(polled)
+                    .status(OperationStatus.SUCCESS)
+                    .build();
+        }
+        return inProgress(model, polled, attempt, markStarted, tracker);
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> inProgress(
+            final ResourceModel model,
+            final ResourceModel polled,
+            final int attempt,
+            final UnaryOperator<CallbackContext.CallbackContextBuilder> markStarted,
+            final OperationTracker tracker) {
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .callbackContext(markStarted.apply(tracker.contextBuilder())
+                        .stabilizationAttempts(attempt + 1)
+                        .build())
+                .callbackDelaySeconds(delayStrategy.nextDelaySeconds(attempt, polled != null ? polled.getState() : null))
+                .status(OperationStatus.IN_PROGRESS)
+                .resourceModel(polled != null ? polled : model)
+                .build();
+    }
+
+    static ProgressEvent<ResourceModel, CallbackContext> failed(final ResourceModel model, final AmazonEC2Exception e) {
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModel(model)
+                .status(OperationStatus.FAILED)
+                .errorCode(getHandlerErrorForEc2Error(e.getErrorCode()))
+                .message(e.getMessage())
+                .build();
+    }
+}
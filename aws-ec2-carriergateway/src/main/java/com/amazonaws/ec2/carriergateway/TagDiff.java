@@ -0,0 +1,73 @@
+package com.amazonaws.ec2.carriergateway;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Difference between the current and desired tags of a carrier gateway, computed by tag key.
+ *
+ * CreateTags overwrites the value of a key that already exists, so a tag whose value changed only
+ * needs an upsert. DeleteTags is left for keys that are no longer desired, and is sent by key only.
+ */
+final class TagDiff {
+    private final Set<Tag> tagsToCreate;
+    private final Set<Tag> tagsToDelete;
+
+    private TagDiff(final Set<Tag> tagsToCreate, final Set<Tag> tagsToDelete) {
+        this.tagsToCreate = tagsToCreate;
+        this.tagsToDelete = tagsToDelete;
+    }
+
+    static TagDiff between(final Set<Tag> currentTags, final Set<Tag> desiredTags) {
+        final Map<String, String> current = toMap(currentTags);
+        final Map<String, String> desired = toMap(desiredTags);
+
+        final Set<Tag> tagsToCreate = new HashSet<>();
+        for (final Map.Entry<String, String> entry : desired.entrySet()) {
+            final String key = entry.getKey();
+            if (!current.containsKey(key) || !Objects.equals(current.get(key), entry.getValue())) {
+                tagsToCreate.add(Tag.builder().key(key).value(entry.getValue()).build());
+            }
+        }
+        final Set<Tag> tagsToDelete = new HashSet<>();
+        for (final String key : current.keySet()) {
+            if (!desired.containsKey(key)) {
+                tagsToDelete.add(Tag.builder().key(key).build());
+            }
+        }
+        return new TagDiff(tagsToCreate, tagsToDelete);
+    }
+
+    /**
+     * @return tags to pass to CreateTags, covering both new keys and keys whose value changed
+     */
+    Set<Tag> getTagsToCreate() {
+        return tagsToCreate;
+    }
+
+    /**
+     * @return tags without a value to pass to DeleteTags, so the key is removed whatever its value
+     */
+    Set<Tag> getTagsToDelete() {
+        return tagsToDelete;
+    }
+
+    boolean isEmpty() {
+        return tagsToCreate.isEmpty() && tagsToDelete.isEmpty();
+    }
+
+    private static Map<String, String> toMap(final Set<Tag> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> map = new HashMap<>(tags.size() * 2);
+        for (final Tag tag : tags) {
+            map.put(tag.getKey(), tag.getValue());
+        }
+        return map;
+    }
+}
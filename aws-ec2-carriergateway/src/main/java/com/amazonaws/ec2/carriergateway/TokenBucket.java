@@ -0,0 +1,50 @@
+package com.amazonaws.ec2.carriergateway;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket that paces calls to a steady rate while still allowing short bursts.
+ *
+ * Callers reserve a token and are told how long to wait for it, so waiting callers are served in
+ * arrival order and the bucket itself never blocks while holding its lock.
+ */
+class TokenBucket {
+    private final double capacity;
+    private final double nanosPerToken;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(final int capacity, final double tokensPerSecond) {
+        this(capacity, tokensPerSecond, System::nanoTime);
+    }
+
+    TokenBucket(final int capacity, final double tokensPerSecond, final LongSupplier nanoClock) {
+        if (capacity < 1 || tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Invalid token bucket, capacity: " + capacity + ", rate: " + tokensPerSecond);
+        }
+        this.capacity = capacity;
+        this.nanosPerToken = TimeUnit.SECONDS.toNanos(1) / tokensPerSecond;
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes one token, going into debt if none is left.
+     *
+     * @return how many milliseconds the caller has to wait before using the token
+     */
+    synchronized long reserve() {
+        final long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) / nanosPerToken);
+        lastRefillNanos = now;
+        tokens -= 1;
+        if (tokens >= 0) {
+            return 0L;
+        }
+        return (long) Math.ceil(-tokens * nanosPerToken / TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
@@ -1,8 +1,11 @@
 package com.amazonaws.ec2.carriergateway;
 
 import com.amazonaws.services.ec2.model.CarrierGateway;
+import com.amazonaws.services.ec2.model.Filter;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -29,6 +32,14 @@ public class Translator {
             .build();
   }
 
+  static List<ResourceModel> createModelsFromCarrierGateways(final List<CarrierGateway> cagws) {
+    final List<ResourceModel> models = new ArrayList<>(cagws.size());
+    for (final CarrierGateway cagw : cagws) {
+      models.add(createModelFromCarrierGateway(cagw));
+    }
+    return models;
+  }
+
   static com.amazonaws.services.ec2.model.Tag createSdkTagFromCfnTag(final Tag tag) {
     return new com.amazonaws.services.ec2.model.Tag()
             .withKey(tag.getKey())
@@ -42,14 +53,88 @@ public class Translator {
             .build();
   }
 
+  /**
+   * Builds DescribeCarrierGateways filters from the properties set on a list request's model,
+   * so that EC2 only returns the carrier gateways the caller asked for.
+   */
+  static List<Filter> createFiltersFromModel(final ResourceModel model) {
+    final List<Filter> filters = new ArrayList<>();
+    if (model == null) {
+      return filters;
+    }
+    if (model.getVpcId() != null) {
+      filters.add(new Filter().withName("vpc-id").withValues(model.getVpcId()));
+    }
+    if (model.getState() != null) {
+      filters.add(new Filter().withName("state").withValues(model.getState()));
+    }
+    if (model.getTags() != null) {
+      for (final Tag tag : model.getTags()) {
+        // EC2 rejects a tag:<key> filter without a value, so a tag with no value only asks for the key
+        if (tag.getValue() == null) {
+          filters.add(new Filter().withName("tag-key").withValues(tag.getKey()));
+        } else {
+          filters.add(new Filter().withName("tag:" + tag.getKey()).withValues(tag.getValue()));
+        }
+      }
+    }
+    return filters;
+  }
+
   static HandlerErrorCode getHandlerErrorForEc2Error(final String errorCode) {
+    if (errorCode == null) {
+      return HandlerErrorCode.GeneralServiceException;
+    }
+    if (isThrottlingEc2Error(errorCode)) {
+      return HandlerErrorCode.Throttling;
+    }
+    if (isTransientEc2Error(errorCode)) {
+      return HandlerErrorCode.ServiceInternalError;
+    }
     switch (errorCode) {
       case "UnauthorizedOperation":
+      case "AuthFailure":
         return HandlerErrorCode.AccessDenied;
+      case "InvalidCarrierGatewayID.NotFound":
+        return HandlerErrorCode.NotFound;
+      case "CarrierGatewayAlreadyExists":
+        return HandlerErrorCode.AlreadyExists;
+      case "DependencyViolation":
+      case "IncorrectState":
+        return HandlerErrorCode.ResourceConflict;
+      case "CarrierGatewayLimitExceeded":
+      case "TagLimitExceeded":
+        return HandlerErrorCode.ServiceLimitExceeded;
       case "InvalidParameter":
+      case "InvalidParameterValue":
+      case "InvalidParameterCombination":
+      case "MissingParameter":
+      case "InvalidCarrierGatewayID.Malformed":
+      case "InvalidVpcID.Malformed":
+      case "InvalidVpcID.NotFound":
+      case "OperationNotPermitted":
         return HandlerErrorCode.InvalidRequest;
       default:
         return HandlerErrorCode.GeneralServiceException;
     }
   }
+
+  /**
+   * Throttled requests are rejected before EC2 acts on them, so they are always safe to retry.
+   */
+  static boolean isThrottlingEc2Error(final String errorCode) {
+    return "RequestLimitExceeded".equals(errorCode)
+            || "Throttling".equals(errorCode)
+            || "ThrottlingException".equals(errorCode);
+  }
+
+  /**
+   * Server-side failures that usually clear up on their own. EC2 may or may not have acted on the request.
+   */
+  static boolean isTransientEc2Error(final String errorCode) {
+    return "ServiceUnavailable".equals(errorCode)
+            || "Unavailable".equals(errorCode)
+            || "InternalError".equals(errorCode)
+            || "InternalFailure".equals(errorCode);
+  }
 }
@@ -0,0 +1,95 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.PredefinedClientConfigurations;
+import com.amazonaws.retry.PredefinedRetryPolicies;
+
+import java.util.function.Function;
+
+import static com.amazonaws.ec2.carriergateway.Constants.EC2_CONNECTION_MAX_IDLE_MILLIS;
+import static com.amazonaws.ec2.carriergateway.Constants.EC2_CONNECTION_TTL_MILLIS;
+import static com.amazonaws.ec2.carriergateway.Constants.EC2_CONNECT_TIMEOUT_MILLIS;
+import static com.amazonaws.ec2.carriergateway.Constants.EC2_DNS_CACHE_MILLIS;
+import static com.amazonaws.ec2.carriergateway.Constants.EC2_REQUEST_TIMEOUT_MILLIS;
+import static com.amazonaws.ec2.carriergateway.Constants.EC2_SOCKET_TIMEOUT_MILLIS;
+import static com.amazonaws.ec2.carriergateway.Constants.EC2_TCP_KEEP_ALIVE;
+
+/**
+ * Timeouts, keep-alive, connection recycling and DNS caching for the EC2 client, read once from
+ * the environment when ClientBuilder builds the client. Unset or invalid values fall back to the
+ * defaults in {@link Constants}.
+ */
+final class TransportSettings {
+    static final String CONNECT_TIMEOUT_ENV = "CARRIER_GATEWAY_EC2_CONNECT_TIMEOUT_MILLIS";
+    static final String SOCKET_TIMEOUT_ENV = "CARRIER_GATEWAY_EC2_SOCKET_TIMEOUT_MILLIS";
+    static final String REQUEST_TIMEOUT_ENV = "CARRIER_GATEWAY_EC2_REQUEST_TIMEOUT_MILLIS";
+    static final String CONNECTION_TTL_ENV = "CARRIER_GATEWAY_EC2_CONNECTION_TTL_MILLIS";
+    static final String CONNECTION_MAX_IDLE_ENV = "CARRIER_GATEWAY_EC2_CONNECTION_MAX_IDLE_MILLIS";
+    static final String TCP_KEEP_ALIVE_ENV = "CARRIER_GATEWAY_EC2_TCP_KEEP_ALIVE";
+    static final String DNS_CACHE_ENV = "CARRIER_GATEWAY_EC2_DNS_CACHE_MILLIS";
+
+    private final int connectTimeoutMillis;
+    private final int socketTimeoutMillis;
+    private final int requestTimeoutMillis;
+    private final long connectionTtlMillis;
+    private final long connectionMaxIdleMillis;
+    private final boolean tcpKeepAlive;
+    private final long dnsCacheMillis;
+
+    private TransportSettings(final Function<String, String> environment) {
+        this.connectTimeoutMillis = (int) readMillis(environment, CONNECT_TIMEOUT_ENV, EC2_CONNECT_TIMEOUT_MILLIS);
+        this.socketTimeoutMillis = (int) readMillis(environment, SOCKET_TIMEOUT_ENV, EC2_SOCKET_TIMEOUT_MILLIS);
+        this.requestTimeoutMillis = (int) readMillis(environment, REQUEST_TIMEOUT_ENV, EC2_REQUEST_TIMEOUT_MILLIS);
+        this.connectionTtlMillis = readMillis(environment, CONNECTION_TTL_ENV, EC2_CONNECTION_TTL_MILLIS);
+        this.connectionMaxIdleMillis = readMillis(environment, CONNECTION_MAX_IDLE_ENV, EC2_CONNECTION_MAX_IDLE_MILLIS);
+        final String keepAlive = environment.apply(TCP_KEEP_ALIVE_ENV);
+        this.tcpKeepAlive = keepAlive == null || keepAlive.trim().isEmpty() ? EC2_TCP_KEEP_ALIVE : Boolean.parseBoolean(keepAlive.trim());
+        this.dnsCacheMillis = readMillis(environment, DNS_CACHE_ENV, EC2_DNS_CACHE_MILLIS);
+    }
+
+    static TransportSettings fromEnvironment() {
+        return fromEnvironment(System::getenv);
+    }
+
+    static TransportSettings fromEnvironment(final Function<String, String> environment) {
+        return new TransportSettings(environment);
+    }
+
+    int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    int getSocketTimeoutMillis() {
+        return socketTimeoutMillis;
+    }
+
+    int getRequestTimeoutMillis() {
+        return requestTimeoutMillis;
+    }
+
+    /**
+     * Configuration for the SDK v1 client. Idle connections are reaped in the background, and the
+     * endpoint's addresses are cached when {@link #DNS_CACHE_ENV} is set. The SDK's own retries are
+     * off, because {@link Ec2Invoker} retries every call.
+     */
+    ClientConfiguration toClientConfiguration() {
+        final ClientConfiguration configuration = PredefinedClientConfigurations.defaultConfig()
+                .withConnectionTimeout(connectTimeoutMillis)
+                .withSocketTimeout(socketTimeoutMillis)
+                .withRequestTimeout(requestTimeoutMillis)
+                .withTcpKeepAlive(tcpKeepAlive)
+                .withConnectionTTL(connectionTtlMillis)
+                .withConnectionMaxIdleMillis(connectionMaxIdleMillis)
+                .withReaper(true)
+                .withRetryPolicy(PredefinedRetryPolicies.NO_RETRY_POLICY)
+                .withMaxErrorRetry(0);
+        if (dnsCacheMillis > 0) {
+            configuration.withDnsResolver(new CachingDnsResolver(dnsCacheMillis));
+        }
+        return configuration;
+    }
+
+    private static long readMillis(final Function<String, String> environment, final String name, final long defaultValue) {
+        return (long) EnvironmentSettings.readNumber(environment, name, defaultValue, 0, Integer.MAX_VALUE);
+    }
+}
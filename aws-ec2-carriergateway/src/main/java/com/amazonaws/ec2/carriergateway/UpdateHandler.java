@@ -1,6 +1,5 @@
 package com.amazonaws.ec2.carriergateway;
 
-import com.amazonaws.services.ec2.AmazonEC2;
 import com.amazonaws.services.ec2.model.AmazonEC2Exception;
 import com.amazonaws.services.ec2.model.CreateTagsRequest;
 import com.amazonaws.services.ec2.model.DeleteTagsRequest;
@@ -11,19 +10,49 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.util.Collections;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.amazonaws.ec2.carriergateway.Constants.INITIAL_POLLING_DELAY_SECONDS;
 import static com.amazonaws.ec2.carriergateway.Translator.getHandlerErrorForEc2Error;
+import static com.amazonaws.ec2.carriergateway.Translator.isThrottlingEc2Error;
+import static com.amazonaws.ec2.carriergateway.Translator.isTransientEc2Error;
 
 public class UpdateHandler extends BaseHandler<CallbackContext> {
+    private final Ec2Invoker invoker;
+
+    public UpdateHandler() {
+        this(Ec2Invoker.getInstance());
+    }
+
+    UpdateHandler(final Ec2Invoker invoker) {
+        this.invoker = invoker;
+    }
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
-        final AmazonEC2 client = ClientBuilder.getClient();
+        final OperationTracker tracker = OperationTracker.resume("Update", callbackContext);
+        ProgressEvent<ResourceModel, CallbackContext> event = null;
+        try {
+            event = handle(proxy, request, callbackContext, tracker);
+            return event;
+        } finally {
+            tracker.finish(event, request.getDesiredResourceState().getCarrierGatewayId(), logger);
+            Ec2Metrics.getInstance().flush(logger);
+        }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final OperationTracker tracker) {
+        final Ec2Gateway client = ClientBuilder.getClient();
         final ResourceModel model = request.getDesiredResourceState();
         final ResourceModel previousModel = request.getPreviousResourceState();
 
@@ -36,37 +65,37 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                     .build();
         }
 
-        if (model.getCarrierGatewayId() != null && !model.getCarrierGatewayId().equals(previousModel.getCarrierGatewayId())) {
-            return createNotUpdatableEvent(model, "CarrierGatewayId");
+        final HandlerEvents.Phase validation = HandlerEvents.beginPhase("Update", "Validate");
+        final String notUpdatableProperty = findNotUpdatableProperty(model, previousModel);
+        validation.end(previousModel.getCarrierGatewayId());
+        if (notUpdatableProperty != null) {
+            return createNotUpdatableEvent(model, notUpdatableProperty);
         }
 
-        if (model.getOwnerId() != null && !model.getOwnerId().equals(previousModel.getOwnerId())) {
-            return createNotUpdatableEvent(model, "OwnerId");
-        }
-
-        if (model.getState() != null && !model.getState().equals(previousModel.getState())) {
-            return createNotUpdatableEvent(model, "State");
-        }
-
-        if (callbackContext == null || !callbackContext.isUpdateStarted()) {
-            final ReadHandler readHandler = new ReadHandler();
+        final boolean resuming = callbackContext != null && callbackContext.isUpdateStarted();
+        final Set<Tag> tagsToCreate;
+        final Set<Tag> tagsToDelete;
+        if (resuming) {
+            tagsToCreate = callbackContext.getTagsToCreate();
+            tagsToDelete = callbackContext.getTagsToDelete();
+        } else {
+            final ReadHandler readHandler = new ReadHandler(invoker);
             final ResourceModel existingResource;
+            final HandlerEvents.Phase read = HandlerEvents.beginPhase("Update", "Read");
             try {
-                existingResource = readHandler.handleRequest(proxy, request, callbackContext, logger).getResourceModel();
+                existingResource = readHandler.read(model.getCarrierGatewayId(), proxy);
             } catch (AmazonEC2Exception e) {
-                return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                        .resourceModel(model)
-                        .status(OperationStatus.FAILED)
-                        .errorCode(getHandlerErrorForEc2Error(e.getErrorCode()))
-                        .message(e.getMessage())
-                        .build();
+                return createFailedEvent(model, e);
+            } finally {
+                read.end(model.getCarrierGatewayId());
             }
             if (!existingResource.getVpcId().equals(model.getVpcId())) {
                 return createNotUpdatableEvent(model, "VpcId");
             }
-            final Set<Tag> currentTags = existingResource.getTags();
-            final Set<Tag> desiredTags = model.getTags();
-            if (currentTags.equals(desiredTags)) {
+            final HandlerEvents.Phase diff = HandlerEvents.beginPhase("Update", "TagDiff");
+            final TagDiff tagDiff = TagDiff.between(existingResource.getTags(), model.getTags());
+            diff.end(model.getCarrierGatewayId());
+            if (tagDiff.isEmpty()) {
                 return ProgressEvent.<ResourceModel, CallbackContext>builder()
                         .resourceModel(model)
                         .status(OperationStatus.SUCCESS)
@@ -74,50 +103,53 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
             }
 
             // To make this update minimally intrusive we only change tags that are not staying the same between updates
-            final Set<Tag> tagsToCreate = desiredTags
-                    .stream()
-                    .filter(tag -> !currentTags.contains(tag))
-                    .collect(Collectors.toSet());
-            final Set<Tag> tagsToDelete = currentTags
-                    .stream()
-                    .filter(tag -> !desiredTags.contains(tag))
-                    .collect(Collectors.toSet());
-
-            final CallbackContext nextContext = CallbackContext
-                    .builder()
-                    .updateStarted(true)
-                    .tagsToCreate(tagsToCreate)
-                    .tagsToDelete(tagsToDelete)
-                    .build();
-
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                    .callbackContext(nextContext)
-                    .resourceModel(model)
-                    .status(OperationStatus.IN_PROGRESS)
-                    .build();
+            tagsToCreate = tagDiff.getTagsToCreate();
+            tagsToDelete = tagDiff.getTagsToDelete();
         }
 
         // Create new tags before deleting old ones
+        final HandlerEvents.Phase createTags = HandlerEvents.beginPhase("Update", "CreateTags");
         try {
-            if (callbackContext.getTagsToCreate() != null && !callbackContext.getTagsToCreate().isEmpty()) {
+            if (tagsToCreate != null && !tagsToCreate.isEmpty()) {
                 final CreateTagsRequest createTagsRequest = new CreateTagsRequest()
-                        .withTags(callbackContext.getTagsToCreate().stream().map(Translator::createSdkTagFromCfnTag).collect(Collectors.toSet()))
+                        .withTags(tagsToCreate.stream().map(Translator::createSdkTagFromCfnTag).collect(Collectors.toList()))
                         .withResources(model.getCarrierGatewayId());
-                proxy.injectCredentialsAndInvoke(createTagsRequest, client::createTags);
+                invoker.invoke(proxy, createTagsRequest, client::createTags);
             }
-            if (callbackContext.getTagsToDelete() != null && !callbackContext.getTagsToDelete().isEmpty()) {
+        } catch (AmazonEC2Exception e) {
+            return createFailedEvent(model, e);
+        } finally {
+            createTags.end(model.getCarrierGatewayId());
+        }
+
+        final HandlerEvents.Phase deleteTags = HandlerEvents.beginPhase("Update", "DeleteTags");
+        try {
+            if (tagsToDelete != null && !tagsToDelete.isEmpty()) {
                 final DeleteTagsRequest deleteTagsRequest = new DeleteTagsRequest()
-                        .withTags(callbackContext.getTagsToDelete().stream().map(Translator::createSdkTagFromCfnTag).collect(Collectors.toSet()))
+                        .withTags(tagsToDelete.stream().map(Translator::createSdkTagFromCfnTag).collect(Collectors.toList()))
                         .withResources(model.getCarrierGatewayId());
-                proxy.injectCredentialsAndInvoke(deleteTagsRequest, client::deleteTags);
+                invoker.invoke(proxy, deleteTagsRequest, client::deleteTags);
             }
         } catch (AmazonEC2Exception e) {
+            if (resuming || tagsToCreate == null || tagsToCreate.isEmpty()
+                    || !(isThrottlingEc2Error(e.getErrorCode()) || isTransientEc2Error(e.getErrorCode()))) {
+                return createFailedEvent(model, e);
+            }
+            // The new tags are already in place, so a retry only needs to remove the old ones
+            final CallbackContext resumeContext = tracker.contextBuilder()
+                    .updateStarted(true)
+                    .tagsToCreate(Collections.emptySet())
+                    .tagsToDelete(tagsToDelete)
+                    .build();
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                    .callbackContext(resumeContext)
+                    .callbackDelaySeconds(INITIAL_POLLING_DELAY_SECONDS)
                     .resourceModel(model)
-                    .status(OperationStatus.FAILED)
-                    .errorCode(getHandlerErrorForEc2Error(e.getErrorCode()))
+                    .status(OperationStatus.IN_PROGRESS)
                     .message(e.getMessage())
                     .build();
+        } finally {
+            deleteTags.end(model.getCarrierGatewayId());
         }
 
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
@@ -126,6 +158,28 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                 .build();
     }
 
+    private static String findNotUpdatableProperty(final ResourceModel model, final ResourceModel previousModel) {
+        if (model.getCarrierGatewayId() != null && !model.getCarrierGatewayId().equals(previousModel.getCarrierGatewayId())) {
+            return "CarrierGatewayId";
+        }
+        if (model.getOwnerId() != null && !model.getOwnerId().equals(previousModel.getOwnerId())) {
+            return "OwnerId";
+        }
+        if (model.getState() != null && !model.getState().equals(previousModel.getState())) {
+            return "State";
+        }
+        return null;
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> createFailedEvent(ResourceModel model, AmazonEC2Exception e) {
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModel(model)
+                .status(OperationStatus.FAILED)
+                .errorCode(getHandlerErrorForEc2Error(e.getErrorCode()))
+                .message(e.getMessage())
+                .build();
+    }
+
     private ProgressEvent<ResourceModel, CallbackContext> createNotUpdatableEvent(ResourceModel model, String nonUpdatableProperty) {
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
                 .resourceModel(model)
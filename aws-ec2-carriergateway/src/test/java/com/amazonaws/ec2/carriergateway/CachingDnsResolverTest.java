@@ -0,0 +1,55 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.DnsResolver;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachingDnsResolverTest {
+    private static final String HOST = "ec2.us-east-1.amazonaws.com";
+
+    private final long[] now = {0L};
+    private final DnsResolver delegate = mock(DnsResolver.class);
+    private final CachingDnsResolver resolver = new CachingDnsResolver(1_000L, delegate, () -> now[0]);
+
+    @Test
+    public void resolve_WithinTtl_UsesCachedAddresses() throws UnknownHostException {
+        final InetAddress[] addresses = {InetAddress.getLoopbackAddress()};
+        when(delegate.resolve(HOST)).thenReturn(addresses);
+
+        assertThat(resolver.resolve(HOST)).containsExactly(addresses);
+        now[0] = 999L;
+        assertThat(resolver.resolve(HOST)).containsExactly(addresses);
+
+        verify(delegate, times(1)).resolve(HOST);
+    }
+
+    @Test
+    public void resolve_AfterTtl_ResolvesAgain() throws UnknownHostException {
+        when(delegate.resolve(HOST)).thenReturn(new InetAddress[] {InetAddress.getLoopbackAddress()});
+
+        resolver.resolve(HOST);
+        now[0] = 1_000L;
+        resolver.resolve(HOST);
+
+        verify(delegate, times(2)).resolve(HOST);
+    }
+
+    @Test
+    public void resolve_Failure_IsNotCached() throws UnknownHostException {
+        when(delegate.resolve(HOST))
+                .thenThrow(new UnknownHostException(HOST))
+                .thenReturn(new InetAddress[] {InetAddress.getLoopbackAddress()});
+
+        assertThrows(UnknownHostException.class, () -> resolver.resolve(HOST));
+        assertThat(resolver.resolve(HOST)).hasSize(1);
+    }
+}
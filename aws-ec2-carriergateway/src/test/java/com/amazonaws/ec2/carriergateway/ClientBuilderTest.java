@@ -0,0 +1,66 @@
+package com.amazonaws.ec2.carriergateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ClientBuilderTest {
+
+    @Test
+    public void getClient_ReturnsSameInstance() {
+        final Ec2Gateway first = ClientBuilder.getClient();
+        final Ec2Gateway second = ClientBuilder.getClient();
+
+        assertThat(first).isNotNull();
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void getClient_ConcurrentCallers_ShareOneInstance() throws Exception {
+        final int threads = 16;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Callable<Ec2Gateway>> tasks = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                tasks.add(ClientBuilder::getClient);
+            }
+
+            final Ec2Gateway expected = ClientBuilder.getClient();
+            for (final Future<Ec2Gateway> future : executor.invokeAll(tasks)) {
+                assertThat(future.get()).isSameAs(expected);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void buildGateway_UnknownSdk_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> ClientBuilder.buildGateway("v3", null));
+    }
+
+    @Test
+    public void buildGateway_EndpointWithoutHost_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> ClientBuilder.buildGateway(null, "localhost:8080"));
+        assertThrows(IllegalArgumentException.class, () -> ClientBuilder.buildGateway(null, "http://bad host"));
+    }
+
+    @Test
+    public void buildGateway_V2WithoutSdkV2Profile_Throws() {
+        assumeTrue(ClientBuilderTest.class.getClassLoader().getResource("com/amazonaws/ec2/carriergateway/SdkV2Ec2Gateway.class") == null,
+                "built with the sdk-v2 profile");
+
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ClientBuilder.buildGateway(ClientBuilder.SDK_V2, null));
+        assertThat(e.getMessage()).contains("sdk-v2");
+    }
+}
@@ -0,0 +1,209 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.services.ec2.model.CreateCarrierGatewayRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures cold starts of the built handler jar.
+ *
+ * Every sample starts a fresh JVM on the shaded jar, which builds HandlerWrapper and handles one
+ * recorded request from src/test/resources/coldstart against an {@link Ec2StandInServer}. The
+ * report gives the time from process start to the first response, the time spent building the
+ * wrapper and handling the request, the number of classes loaded and peak RSS. Samples are also
+ * written as JSON to {@code out}, so runs of different builds can be compared with {@code baseline}.
+ *
+ * Run with {@code mvn -Pcoldstart verify -DskipTests}, or directly with arguments such as
+ * {@code jar=target/handler.jar testClasses=target/test-classes runs=20 payloads=read,create
+ * label=after-priming baseline=target/coldstart/before-priming.json javaOpts=-XX:TieredStopAtLevel=1}.
+ */
+final class ColdStartHarness {
+    private static final String[] METRICS = {"timeToFirstResponseMillis", "jvmToMainMillis", "initMillis", "handleMillis", "classesLoaded", "peakRssKb"};
+
+    private final String classpath;
+    private final int runs;
+    private final int warmups;
+    private final List<String> payloads;
+    private final String label;
+    private final Path outDir;
+    private final String baseline;
+    private final List<String> javaOpts;
+    private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    ColdStartHarness(final Map<String, String> options) {
+        this.classpath = options.get("jar") + File.pathSeparator + options.getOrDefault("testClasses", "target/test-classes");
+        this.runs = Integer.parseInt(options.getOrDefault("runs", "10"));
+        this.warmups = Integer.parseInt(options.getOrDefault("warmups", "1"));
+        this.payloads = Arrays.asList(options.getOrDefault("payloads", "read,create").split(","));
+        this.label = options.getOrDefault("label", new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()));
+        this.outDir = Paths.get(options.getOrDefault("out", "target/coldstart"));
+        this.baseline = options.get("baseline");
+        final String opts = options.getOrDefault("javaOpts", "").trim();
+        this.javaOpts = opts.isEmpty() ? Collections.emptyList() : Arrays.asList(opts.split("\\s+"));
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final Map<String, String> options = new HashMap<>();
+        for (final String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+        if (!options.containsKey("jar")) {
+            System.err.println("usage: ColdStartHarness jar=<shaded handler jar> [testClasses=...] [runs=10] [warmups=1]"
+                    + " [payloads=read,create] [label=...] [out=target/coldstart] [baseline=<earlier result file>] [javaOpts=...]");
+            System.exit(2);
+        }
+        new ColdStartHarness(options).run(System.out);
+    }
+
+    void run(final PrintStream out) throws Exception {
+        final FakeEc2 ec2 = new FakeEc2().withPendingMillis(0L);
+        final String readCagwId = ec2.createCarrierGateway(new CreateCarrierGatewayRequest().withVpcId("vpc-0000000000c01d000"))
+                .getCarrierGateway().getCarrierGatewayId();
+
+        final ObjectNode report = mapper.createObjectNode()
+                .put("label", label)
+                .put("classpath", classpath)
+                .put("javaOpts", String.join(" ", javaOpts));
+        final ObjectNode summary = report.putObject("summary");
+        final ArrayNode samples = report.putArray("samples");
+
+        try (Ec2StandInServer server = new Ec2StandInServer(ec2)) {
+            int vpcSequence = 0;
+            for (final String payloadName : payloads) {
+                final String template = resource("coldstart/" + payloadName + ".json");
+                final List<JsonNode> measured = new ArrayList<>();
+                for (int run = 0; run < warmups + runs; run++) {
+                    final String payload = template
+                            .replace("${carrierGatewayId}", readCagwId)
+                            .replace("${vpcId}", String.format("vpc-%017x", ++vpcSequence));
+                    final ObjectNode sample = sample(payload, server.endpoint());
+                    if (run >= warmups) {
+                        sample.put("payload", payloadName).put("run", run - warmups + 1);
+                        samples.add(sample);
+                        measured.add(sample);
+                    }
+                }
+                summary.set(payloadName, summarize(measured));
+            }
+        }
+
+        Files.createDirectories(outDir);
+        final Path resultFile = outDir.resolve(label + ".json");
+        mapper.writeValue(resultFile.toFile(), report);
+        print(out, summary, baseline == null ? null : mapper.readTree(new File(baseline)).get("summary"));
+        out.println("results written to " + resultFile);
+    }
+
+    /**
+     * Starts one JVM, waits for its result line and returns the measurements.
+     */
+    private ObjectNode sample(final String payload, final String endpoint) throws IOException, InterruptedException {
+        final Path payloadFile = Files.createTempFile("coldstart", ".json");
+        try {
+            Files.write(payloadFile, payload.getBytes(StandardCharsets.UTF_8));
+            final List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(javaOpts);
+            command.addAll(Arrays.asList("-cp", classpath, ColdStartProbe.class.getName(), payloadFile.toString()));
+
+            final ProcessBuilder builder = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT);
+            builder.environment().put(ClientBuilder.ENDPOINT_ENV, endpoint);
+            builder.environment().put("AWS_REGION", "us-east-1");
+            builder.environment().put("AWS_EC2_METADATA_DISABLED", "true");
+
+            final long start = System.nanoTime();
+            final Process process = builder.start();
+            ObjectNode sample = null;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                for (String line; (line = reader.readLine()) != null; ) {
+                    if (line.startsWith(ColdStartProbe.RESULT_PREFIX)) {
+                        final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        sample = (ObjectNode) mapper.readTree(line.substring(ColdStartProbe.RESULT_PREFIX.length()));
+                        sample.put("timeToFirstResponseMillis", elapsed);
+                    }
+                }
+            }
+            final int exitCode = process.waitFor();
+            if (sample == null) {
+                throw new IllegalStateException("probe exited with " + exitCode + " without reporting a result");
+            }
+            return sample;
+        } finally {
+            Files.deleteIfExists(payloadFile);
+        }
+    }
+
+    private ObjectNode summarize(final List<JsonNode> samples) {
+        final ObjectNode summary = mapper.createObjectNode().put("samples", samples.size());
+        for (final String metric : METRICS) {
+            final List<Long> values = new ArrayList<>(samples.size());
+            samples.forEach(sample -> values.add(sample.get(metric).asLong()));
+            Collections.sort(values);
+            summary.putObject(metric)
+                    .put("p50", percentile(values, 0.50))
+                    .put("p90", percentile(values, 0.90))
+                    .put("max", values.isEmpty() ? 0L : values.get(values.size() - 1));
+        }
+        final long failures = samples.stream().filter(sample -> !"SUCCESS".equals(sample.get("status").asText())).count();
+        return summary.put("failures", failures);
+    }
+
+    private static void print(final PrintStream out, final JsonNode summary, final JsonNode baselineSummary) {
+        summary.fields().forEachRemaining(payload -> {
+            out.printf("%s samples=%d failures=%d%n", payload.getKey(),
+                    payload.getValue().get("samples").asInt(), payload.getValue().get("failures").asInt());
+            for (final String metric : METRICS) {
+                final long p50 = payload.getValue().get(metric).get("p50").asLong();
+                final JsonNode before = baselineSummary == null ? null : baselineSummary.path(payload.getKey()).path(metric).path("p50");
+                final String delta = before == null || before.isMissingNode() ? "" : String.format(" (baseline p50=%d, %+d)", before.asLong(), p50 - before.asLong());
+                out.printf("  %-26s p50=%d p90=%d max=%d%s%n", metric, p50,
+                        payload.getValue().get(metric).get("p90").asLong(), payload.getValue().get(metric).get("max").asLong(), delta);
+            }
+        });
+    }
+
+    private static long percentile(final List<Long> sorted, final double quantile) {
+        if (sorted.isEmpty()) {
+            return 0L;
+        }
+        final int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, index)));
+    }
+
+    private static String resource(final String name) {
+        final InputStream in = ColdStartHarness.class.getClassLoader().getResourceAsStream(name);
+        if (in == null) {
+            throw new IllegalArgumentException("no recorded payload " + name);
+        }
+        try (Scanner scanner = new Scanner(in, StandardCharsets.UTF_8.name()).useDelimiter("\\A")) {
+            return scanner.hasNext() ? scanner.next() : "";
+        }
+    }
+}
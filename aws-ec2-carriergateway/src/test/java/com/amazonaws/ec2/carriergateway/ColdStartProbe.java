@@ -0,0 +1,106 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs in the fresh JVM that {@link ColdStartHarness} starts for every sample. It builds the
+ * generated HandlerWrapper and sends it a single request, the way the Lambda runtime does on a
+ * cold start. Then it prints one {@link #RESULT_PREFIX} line of JSON timings and exits.
+ */
+final class ColdStartProbe {
+    static final String RESULT_PREFIX = "COLDSTART ";
+
+    private static final Pattern STATUS = Pattern.compile("\"status\"\\s*:\\s*\"(\\w+)\"");
+
+    private ColdStartProbe() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        final long mainAt = System.currentTimeMillis();
+        final byte[] payload = Files.readAllBytes(Paths.get(args[0]));
+
+        final long initStart = System.nanoTime();
+        final HandlerWrapper wrapper = new HandlerWrapper();
+        final long initNanos = System.nanoTime() - initStart;
+
+        final ByteArrayOutputStream response = new ByteArrayOutputStream();
+        final long handleStart = System.nanoTime();
+        wrapper.handleRequest(new ByteArrayInputStream(payload), response, context());
+        final long handleNanos = System.nanoTime() - handleStart;
+
+        final int classesLoaded = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+        final Matcher status = STATUS.matcher(new String(response.toByteArray(), StandardCharsets.UTF_8));
+        System.out.println(RESULT_PREFIX + "{"
+                + "\"jvmToMainMillis\":" + (mainAt - ManagementFactory.getRuntimeMXBean().getStartTime())
+                + ",\"initMillis\":" + TimeUnit.NANOSECONDS.toMillis(initNanos)
+                + ",\"handleMillis\":" + TimeUnit.NANOSECONDS.toMillis(handleNanos)
+                + ",\"classesLoaded\":" + classesLoaded
+                + ",\"peakRssKb\":" + peakRssKb()
+                + ",\"status\":\"" + (status.find() ? status.group(1) : "UNKNOWN") + "\"}");
+        System.out.flush();
+    }
+
+    /**
+     * @return the high-water mark of resident memory, or -1 where /proc is not available
+     */
+    private static long peakRssKb() {
+        final Path status = Paths.get("/proc/self/status");
+        try {
+            for (final String line : Files.readAllLines(status, StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmHWM:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            return -1L;
+        }
+        return -1L;
+    }
+
+    /**
+     * Builds the Lambda context as a dynamic proxy, so the probe does not depend on which
+     * methods a given version of aws-lambda-java-core declares.
+     */
+    private static Context context() {
+        final LambdaLogger logger = (LambdaLogger) Proxy.newProxyInstance(
+                ColdStartProbe.class.getClassLoader(),
+                new Class<?>[] {LambdaLogger.class},
+                (proxy, method, methodArgs) -> {
+                    if (methodArgs != null && methodArgs.length == 1) {
+                        final Object message = methodArgs[0];
+                        System.err.println(message instanceof byte[]
+                                ? new String((byte[]) message, StandardCharsets.UTF_8) : String.valueOf(message));
+                    }
+                    return null;
+                });
+        return (Context) Proxy.newProxyInstance(
+                ColdStartProbe.class.getClassLoader(),
+                new Class<?>[] {Context.class},
+                (proxy, method, methodArgs) -> {
+                    switch (method.getName()) {
+                        case "getLogger":
+                            return logger;
+                        case "getRemainingTimeInMillis":
+                            return (int) TimeUnit.MINUTES.toMillis(1);
+                        case "getMemoryLimitInMB":
+                            return 256;
+                        default:
+                            return method.getReturnType() == String.class ? "coldstart" : null;
+                    }
+                });
+    }
+}
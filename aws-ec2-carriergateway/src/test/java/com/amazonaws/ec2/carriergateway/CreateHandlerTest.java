@@ -4,11 +4,14 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
+import com.amazonaws.SdkClientException;
 import com.amazonaws.services.ec2.model.AmazonEC2Exception;
+import com.amazonaws.services.ec2.model.CarrierGateway;
 import com.amazonaws.services.ec2.model.CreateCarrierGatewayRequest;
 import com.amazonaws.services.ec2.model.CreateCarrierGatewayResult;
 import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysRequest;
 import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysResult;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
@@ -23,7 +26,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import static com.amazonaws.ec2.carriergateway.Constants.POLLING_DELAY_SECONDS;
+import static com.amazonaws.ec2.carriergateway.Constants.EC2_MAX_ATTEMPTS;
+import static com.amazonaws.ec2.carriergateway.Constants.INITIAL_POLLING_DELAY_SECONDS;
 import static com.amazonaws.ec2.carriergateway.Translator.createModelFromCarrierGateway;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -31,7 +35,7 @@ import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class CreateHandlerTest extends TestBase {
-
+    private static final String CLIENT_REQUEST_TOKEN = "4b90a7e4-b790-456b-a937-0cfdfa211dfe";
 
     @Mock
     private AmazonWebServicesClientProxy proxy;
@@ -55,6 +59,24 @@ public class CreateHandlerTest extends TestBase {
             .createStarted(true)
             .build();
 
+    private final CallbackContext firstAttemptContext = CallbackContext.builder()
+            .createStarted(true)
+            .stabilizationAttempts(1)
+            .build();
+
+    private final CallbackContext visibleFirstAttemptContext = CallbackContext.builder()
+            .createStarted(true)
+            .createVisible(true)
+            .stabilizationAttempts(1)
+            .build();
+
+    private ResourceHandlerRequest<ResourceModel> requestWithToken(final String clientRequestToken) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().vpcId(VPC_ID).build())
+                .clientRequestToken(clientRequestToken)
+                .build();
+    }
+
     @BeforeEach
     public void setup() {
         proxy = mock(AmazonWebServicesClientProxy.class);
@@ -64,17 +86,17 @@ public class CreateHandlerTest extends TestBase {
     @Test
     public void handleRequest_CreateNotStarted_InProgress() {
         final CreateCarrierGatewayResult createResult = new CreateCarrierGatewayResult()
-                .withCarrierGateway(TEST_CAGW);
+                .withCarrierGateway(PENDING_CAGW);
 
         final DescribeCarrierGatewaysResult describeResult = new DescribeCarrierGatewaysResult()
-                .withCarrierGateways(TEST_CAGW);
+                .withCarrierGateways(PENDING_CAGW);
 
         Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(CreateCarrierGatewayRequest.class), any()))
                 .thenReturn(createResult);
         Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
                 .thenReturn(describeResult);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
@@ -84,14 +106,92 @@ public class CreateHandlerTest extends TestBase {
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackContext()).isEqualTo(inProgressContext);
+        assertThat(response.getCallbackContext()).isEqualToIgnoringGivenFields(visibleFirstAttemptContext, TRACKING_FIELDS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(INITIAL_POLLING_DELAY_SECONDS);
+        assertThat(response.getResourceModel()).isEqualTo(createModelFromCarrierGateway(PENDING_CAGW));
+        assertThat(response.getResourceModels()).isNull();
+        assertThat(response.getMessage()).isNull();
+        assertThat(response.getErrorCode()).isNull();
+    }
+
+    @Test
+    public void handleRequest_CreateReturnsAvailable_SuccessWithoutRead() {
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(CreateCarrierGatewayRequest.class), any()))
+                .thenReturn(new CreateCarrierGatewayResult().withCarrierGateway(TEST_CAGW));
+
+        final CreateHandler handler = new CreateHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        verify(proxy, never())
+                .injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any());
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getResourceModel()).isEqualTo(createModelFromCarrierGateway(TEST_CAGW));
+    }
+
+    @Test
+    public void handleRequest_CreateNotStarted_AvailableInline_Success() {
+        final CreateCarrierGatewayResult createResult = new CreateCarrierGatewayResult()
+                .withCarrierGateway(PENDING_CAGW);
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(CreateCarrierGatewayRequest.class), any()))
+                .thenReturn(createResult);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
+                .thenReturn(new DescribeCarrierGatewaysResult().withCarrierGateways(PENDING_CAGW))
+                .thenReturn(new DescribeCarrierGatewaysResult().withCarrierGateways(PENDING_CAGW))
+                .thenReturn(new DescribeCarrierGatewaysResult().withCarrierGateways(TEST_CAGW));
+
+        final long[] now = {0L};
+        final InlineWaiter waiter = new InlineWaiter(5_000L, 1_000L, () -> now[0], millis -> now[0] += millis);
+        final CreateHandler handler = new CreateHandler(DEFAULT_DELAY, waiter, NO_SLEEP_INVOKER);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        verify(proxy, times(3))
+                .injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any());
+
+        assertThat(now[0]).isEqualTo(2_000L);
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
         assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
         assertThat(response.getResourceModel()).isEqualTo(createModelFromCarrierGateway(TEST_CAGW));
-        assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_CreateNotStarted_InlineBudgetExhausted_InProgress() {
+        final CreateCarrierGatewayResult createResult = new CreateCarrierGatewayResult()
+                .withCarrierGateway(PENDING_CAGW);
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(CreateCarrierGatewayRequest.class), any()))
+                .thenReturn(createResult);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
+                .thenReturn(new DescribeCarrierGatewaysResult().withCarrierGateways(PENDING_CAGW));
+
+        final long[] now = {0L};
+        final InlineWaiter waiter = new InlineWaiter(2_500L, 1_000L, () -> now[0], millis -> now[0] += millis);
+        final CreateHandler handler = new CreateHandler(DEFAULT_DELAY, waiter, NO_SLEEP_INVOKER);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        verify(proxy, times(3))
+                .injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any());
+
+        assertThat(now[0]).isEqualTo(2_000L);
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext()).isEqualToIgnoringGivenFields(visibleFirstAttemptContext, TRACKING_FIELDS);
+        assertThat(response.getResourceModel()).isEqualTo(createModelFromCarrierGateway(PENDING_CAGW));
+    }
+
     @Test
     public void handleRequest_CreateNotStarted_Failed() {
         final AmazonEC2Exception unexpectedException = new AmazonEC2Exception("");
@@ -100,7 +200,7 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(CreateCarrierGatewayRequest.class), any()))
                 .thenThrow(unexpectedException);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
@@ -122,8 +222,10 @@ public class CreateHandlerTest extends TestBase {
 
         Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(CreateCarrierGatewayRequest.class), any()))
                 .thenReturn(createResult);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
+                .thenReturn(new DescribeCarrierGatewaysResult().withCarrierGateways(TEST_CAGW_WITH_TAGS));
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
 
         final Set<Tag> tagSet = new HashSet<>();
         tagSet.add(Tag.builder().key("Name").value("MyCagw").build());
@@ -144,8 +246,8 @@ public class CreateHandlerTest extends TestBase {
                 .injectCredentialsAndInvoke(any(CreateCarrierGatewayRequest.class), any());
 
         assertThat(response).isNotNull();
-        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackContext()).isEqualTo(inProgressContext);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
         assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
         assertThat(response.getResourceModel()).isEqualTo(createModelFromCarrierGateway(TEST_CAGW_WITH_TAGS));
         assertThat(response.getResourceModels()).isNull();
@@ -155,7 +257,7 @@ public class CreateHandlerTest extends TestBase {
 
     @Test
     public void handleRequest_CagwAlreadyExists_Fails() {
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
 
         final AmazonEC2Exception alreadyExistsException = new AmazonEC2Exception("");
         alreadyExistsException.setErrorCode("CarrierGatewayAlreadyExists");
@@ -167,6 +269,80 @@ public class CreateHandlerTest extends TestBase {
         assertThrows(CfnAlreadyExistsException.class, () -> handler.handleRequest(proxy, request, null, logger));
     }
 
+    @Test
+    public void handleRequest_ClientRequestToken_SentAsClientToken() {
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(CreateCarrierGatewayRequest.class), any()))
+                .thenReturn(new CreateCarrierGatewayResult().withCarrierGateway(TEST_CAGW));
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
+                .thenReturn(new DescribeCarrierGatewaysResult().withCarrierGateways(TEST_CAGW));
+
+        final CreateHandler handler = new CreateHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
+        handler.handleRequest(proxy, requestWithToken(CLIENT_REQUEST_TOKEN), null, logger);
+
+        final ArgumentCaptor<CreateCarrierGatewayRequest> captor = ArgumentCaptor.forClass(CreateCarrierGatewayRequest.class);
+        verify(proxy).injectCredentialsAndInvoke(captor.capture(), any());
+        assertThat(captor.getValue().getClientToken()).isEqualTo(CLIENT_REQUEST_TOKEN);
+    }
+
+    @Test
+    public void clientTokenFor_LongToken_Truncated() {
+        final String longToken = String.join("", Collections.nCopies(3, CLIENT_REQUEST_TOKEN));
+
+        assertThat(CreateHandler.clientTokenFor(requestWithToken(longToken))).hasSize(CreateHandler.CLIENT_TOKEN_MAX_LENGTH);
+        assertThat(CreateHandler.clientTokenFor(request)).isNull();
+    }
+
+    @Test
+    public void handleRequest_AmbiguousFailure_GatewayInVpc_Recovers() {
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(CreateCarrierGatewayRequest.class), any()))
+                .thenThrow(new SdkClientException("Unable to execute HTTP request: Read timed out"))
+                .thenReturn(new CreateCarrierGatewayResult().withCarrierGateway(TEST_CAGW));
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
+                .thenReturn(new DescribeCarrierGatewaysResult().withCarrierGateways(TEST_CAGW));
+
+        final CreateHandler handler = new CreateHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, requestWithToken(CLIENT_REQUEST_TOKEN), null, logger);
+
+        verify(proxy, times(2)).injectCredentialsAndInvoke(any(CreateCarrierGatewayRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(createModelFromCarrierGateway(TEST_CAGW));
+    }
+
+    @Test
+    public void handleRequest_AmbiguousFailure_NoGatewayInVpc_Throws() {
+        final SdkClientException timeout = new SdkClientException("Unable to execute HTTP request: Read timed out");
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(CreateCarrierGatewayRequest.class), any()))
+                .thenThrow(timeout);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
+                .thenReturn(new DescribeCarrierGatewaysResult().withCarrierGateways(Collections.emptyList()));
+
+        final CreateHandler handler = new CreateHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
+
+        assertThat(assertThrows(SdkClientException.class,
+                () -> handler.handleRequest(proxy, requestWithToken(CLIENT_REQUEST_TOKEN), null, logger))).isSameAs(timeout);
+        // with a client token the create is safe to repeat, so the timeout is retried before the VPC is checked
+        verify(proxy, times(EC2_MAX_ATTEMPTS)).injectCredentialsAndInvoke(any(CreateCarrierGatewayRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_RetriedInvocation_ReturnsFirstGateway() {
+        final FakeEc2 ec2 = new FakeEc2().withPendingMillis(0L);
+        final AmazonWebServicesClientProxy fakeProxy = ec2.proxy();
+        final CreateHandler handler = new CreateHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
+
+        // the first invocation's response never reaches CloudFormation, which invokes again with the same token
+        final ProgressEvent<ResourceModel, CallbackContext> first
+                = handler.handleRequest(fakeProxy, requestWithToken(CLIENT_REQUEST_TOKEN), null, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> retried
+                = handler.handleRequest(fakeProxy, requestWithToken(CLIENT_REQUEST_TOKEN), null, logger);
+
+        assertThat(retried.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(retried.getResourceModel().getCarrierGatewayId()).isEqualTo(first.getResourceModel().getCarrierGatewayId());
+        assertThat(ec2.gatewayIds()).hasSize(1);
+    }
+
     @Test
     public void handleRequest_CreateStarted_Success() {
         final DescribeCarrierGatewaysResult describeResult = new DescribeCarrierGatewaysResult()
@@ -175,7 +351,7 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
                 .thenReturn(describeResult);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, inProgressContext, logger);
@@ -201,7 +377,7 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
                 .thenThrow(unexpectedException);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, inProgressContext, logger);
@@ -227,21 +403,66 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
                 .thenReturn(describeResult);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, requestAfterCagwCreated, inProgressContext, logger);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackContext()).isEqualTo(inProgressContext);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(POLLING_DELAY_SECONDS);
+        assertThat(response.getCallbackContext()).isEqualToIgnoringGivenFields(firstAttemptContext, TRACKING_FIELDS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(INITIAL_POLLING_DELAY_SECONDS);
         assertThat(response.getResourceModel()).isEqualTo(createModelFromCarrierGateway(TEST_CAGW));
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_CagwDeletedAfterVisible_NotStabilized() {
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(CreateCarrierGatewayRequest.class), any()))
+                .thenReturn(new CreateCarrierGatewayResult().withCarrierGateway(PENDING_CAGW));
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
+                .thenReturn(new DescribeCarrierGatewaysResult().withCarrierGateways(PENDING_CAGW))
+                .thenReturn(new DescribeCarrierGatewaysResult().withCarrierGateways(
+                        new CarrierGateway().withCarrierGatewayId(CAGW_ID).withVpcId(VPC_ID).withState("deleted")));
+
+        final long[] now = {0L};
+        final InlineWaiter waiter = new InlineWaiter(5_000L, 1_000L, () -> now[0], millis -> now[0] += millis);
+        final CreateHandler handler = new CreateHandler(DEFAULT_DELAY, waiter, NO_SLEEP_INVOKER);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        verify(proxy, times(2))
+                .injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any());
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotStabilized);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getResourceModel().getCarrierGatewayId()).isEqualTo(CAGW_ID);
+    }
+
+    @Test
+    public void handleRequest_CagwNotFoundAfterVisible_NotStabilized() {
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
+                .thenReturn(new DescribeCarrierGatewaysResult().withCarrierGateways(Collections.emptyList()));
+
+        final CreateHandler handler = new CreateHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
+        final CallbackContext visibleContext = CallbackContext.builder()
+                .createStarted(true)
+                .createVisible(true)
+                .stabilizationAttempts(2)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, requestAfterCagwCreated, visibleContext, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotStabilized);
+        assertThat(response.getCallbackContext()).isNull();
+    }
+
     @Test
     public void handleRequest_CagwPending_InProgress() {
         final DescribeCarrierGatewaysResult describeResult = new DescribeCarrierGatewaysResult()
@@ -250,24 +471,47 @@ public class CreateHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
                 .thenReturn(describeResult);
 
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, requestAfterCagwCreated, inProgressContext, logger);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackContext()).isEqualTo(inProgressContext);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(POLLING_DELAY_SECONDS);
+        assertThat(response.getCallbackContext()).isEqualToIgnoringGivenFields(visibleFirstAttemptContext, TRACKING_FIELDS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(INITIAL_POLLING_DELAY_SECONDS);
         assertThat(response.getResourceModel()).isEqualTo(createModelFromCarrierGateway(PENDING_CAGW));
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_CagwPendingAfterSeveralAttempts_BacksOff() {
+        final DescribeCarrierGatewaysResult describeResult = new DescribeCarrierGatewaysResult()
+                .withCarrierGateways(PENDING_CAGW);
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
+                .thenReturn(describeResult);
+
+        final CreateHandler handler = new CreateHandler(attempt -> attempt * 10, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
+        final CallbackContext thirdAttemptContext = CallbackContext.builder()
+                .createStarted(true)
+                .stabilizationAttempts(3)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, requestAfterCagwCreated, thirdAttemptContext, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().getStabilizationAttempts()).isEqualTo(4);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(30);
+    }
+
     @Test
     public void handleRequest_InvalidRequest_Failed() {
-        final CreateHandler handler = new CreateHandler();
+        final CreateHandler handler = new CreateHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, requestAfterCagwCreated, null, logger);
@@ -3,6 +3,7 @@ package com.amazonaws.ec2.carriergateway;
 import java.util.Collections;
 
 import com.amazonaws.services.ec2.model.AmazonEC2Exception;
+import com.amazonaws.services.ec2.model.CarrierGateway;
 import com.amazonaws.services.ec2.model.DeleteCarrierGatewayRequest;
 import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysRequest;
 import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysResult;
@@ -20,7 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import static com.amazonaws.ec2.carriergateway.Constants.POLLING_DELAY_SECONDS;
+import static com.amazonaws.ec2.carriergateway.Constants.INITIAL_POLLING_DELAY_SECONDS;
 import static com.amazonaws.ec2.carriergateway.Translator.createModelFromCarrierGateway;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -46,6 +47,11 @@ public class DeleteHandlerTest extends TestBase {
             .deleteStarted(true)
             .build();
 
+    private final CallbackContext firstAttemptContext = CallbackContext.builder()
+            .deleteStarted(true)
+            .stabilizationAttempts(1)
+            .build();
+
     @BeforeEach
     public void setup() {
         proxy = mock(AmazonWebServicesClientProxy.class);
@@ -60,7 +66,7 @@ public class DeleteHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
                 .thenReturn(describeResult);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
@@ -92,7 +98,7 @@ public class DeleteHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DeleteCarrierGatewayRequest.class), any()))
                 .thenThrow(unexpectedException);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
@@ -116,7 +122,7 @@ public class DeleteHandlerTest extends TestBase {
         when(proxy.injectCredentialsAndInvoke(any(DeleteCarrierGatewayRequest.class), any()))
                 .thenThrow(notFoundException);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
 
         assertThrows(CfnNotFoundException.class, () -> handler.handleRequest(proxy, request, null, logger));
     }
@@ -129,7 +135,7 @@ public class DeleteHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
                 .thenReturn(describeResult);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
@@ -139,14 +145,78 @@ public class DeleteHandlerTest extends TestBase {
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackContext()).isEqualTo(inProgressContext);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(POLLING_DELAY_SECONDS);
+        assertThat(response.getCallbackContext()).isEqualToIgnoringGivenFields(firstAttemptContext, TRACKING_FIELDS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(INITIAL_POLLING_DELAY_SECONDS);
         assertThat(response.getResourceModel()).isEqualTo(createModelFromCarrierGateway(TEST_CAGW));
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_DeletedStateVisible_Success() {
+        final DescribeCarrierGatewaysResult describeResult = new DescribeCarrierGatewaysResult()
+                .withCarrierGateways(new CarrierGateway().withCarrierGatewayId(CAGW_ID).withVpcId(VPC_ID).withState("deleted"));
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
+                .thenReturn(describeResult);
+
+        final DeleteHandler handler = new DeleteHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, inProgressContext, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getResourceModel()).isNull();
+        assertThat(response.getErrorCode()).isNull();
+    }
+
+    @Test
+    public void handleRequest_Deleting_UsesDeletingDelay() {
+        final DescribeCarrierGatewaysResult describeResult = new DescribeCarrierGatewaysResult()
+                .withCarrierGateways(new CarrierGateway().withCarrierGatewayId(CAGW_ID).withVpcId(VPC_ID).withState("deleting"));
+
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
+                .thenReturn(describeResult);
+
+        final DeleteHandler handler = new DeleteHandler(DEFAULT_DELAY, attempt -> 42, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, inProgressContext, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext()).isEqualToIgnoringGivenFields(firstAttemptContext, TRACKING_FIELDS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(42);
+        assertThat(response.getResourceModel().getState()).isEqualTo("deleting");
+    }
+
+    @Test
+    public void handleRequest_DeletedWithinInlineWait_Success() {
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
+                .thenReturn(new DescribeCarrierGatewaysResult().withCarrierGateways(TEST_CAGW))
+                .thenReturn(new DescribeCarrierGatewaysResult().withCarrierGateways(Collections.emptyList()));
+
+        final long[] now = {0L};
+        final InlineWaiter waiter = new InlineWaiter(5_000L, 1_000L, () -> now[0], millis -> now[0] += millis);
+        final DeleteHandler handler = new DeleteHandler(DEFAULT_DELAY, waiter, NO_SLEEP_INVOKER);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        verify(proxy, times(2))
+                .injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any());
+
+        assertThat(now[0]).isEqualTo(1_000L);
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getResourceModel()).isNull();
+        assertThat(response.getErrorCode()).isNull();
+    }
+
     @Test
     public void handleRequest_DeleteStarted_Success() {
         final DescribeCarrierGatewaysResult describeResult = new DescribeCarrierGatewaysResult()
@@ -155,7 +225,7 @@ public class DeleteHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
                 .thenReturn(describeResult);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, inProgressContext, logger);
@@ -182,7 +252,7 @@ public class DeleteHandlerTest extends TestBase {
         Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
                 .thenThrow(unauthorizedException);
 
-        final DeleteHandler handler = new DeleteHandler();
+        final DeleteHandler handler = new DeleteHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
 
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, inProgressContext, logger);
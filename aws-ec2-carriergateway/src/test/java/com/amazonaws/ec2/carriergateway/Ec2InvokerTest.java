@@ -0,0 +1,140 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.ec2.model.AmazonEC2Exception;
+import com.amazonaws.services.ec2.model.CreateCarrierGatewayRequest;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysRequest;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class Ec2InvokerTest extends TestBase {
+
+    private final List<Long> sleeps = new ArrayList<>();
+
+    private AmazonWebServicesClientProxy proxy;
+    private Ec2Invoker invoker;
+
+    @BeforeEach
+    public void setup() {
+        proxy = mock(AmazonWebServicesClientProxy.class);
+        invoker = new Ec2Invoker(3, 100L, 1_000L, new TokenBucket(100, 100.0), sleeps::add, new Ec2Metrics(() -> 0L));
+    }
+
+    @Test
+    public void invoke_Throttled_RetriedUntilSuccess() {
+        final DescribeCarrierGatewaysResult result = new DescribeCarrierGatewaysResult().withCarrierGateways(TEST_CAGW);
+        when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
+                .thenThrow(ec2Exception("RequestLimitExceeded"))
+                .thenThrow(ec2Exception("ServiceUnavailable"))
+                .thenReturn(result);
+
+        assertThat(invoker.invoke(proxy, new DescribeCarrierGatewaysRequest(), null)).isSameAs(result);
+        verify(proxy, times(3)).injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any());
+        assertThat(sleeps).hasSize(2);
+        assertThat(sleeps.get(0)).isBetween(0L, 100L);
+        assertThat(sleeps.get(1)).isBetween(0L, 200L);
+    }
+
+    @Test
+    public void invoke_StillThrottledAfterMaxAttempts_Throws() {
+        final AmazonEC2Exception throttled = ec2Exception("RequestLimitExceeded");
+        when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any())).thenThrow(throttled);
+
+        final AmazonEC2Exception thrown = assertThrows(AmazonEC2Exception.class,
+                () -> invoker.invoke(proxy, new DescribeCarrierGatewaysRequest(), null));
+
+        assertThat(thrown).isSameAs(throttled);
+        verify(proxy, times(3)).injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any());
+    }
+
+    @Test
+    public void invoke_NonRetryableError_ThrownImmediately() {
+        when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
+                .thenThrow(ec2Exception("UnauthorizedOperation"));
+
+        assertThrows(AmazonEC2Exception.class, () -> invoker.invoke(proxy, new DescribeCarrierGatewaysRequest(), null));
+
+        verify(proxy, times(1)).injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any());
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void invoke_ClientIoError_Retried() {
+        final DescribeCarrierGatewaysResult result = new DescribeCarrierGatewaysResult().withCarrierGateways(TEST_CAGW);
+        when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
+                .thenThrow(new SdkClientException("Unable to execute HTTP request: Connection reset"))
+                .thenReturn(result);
+
+        assertThat(invoker.invoke(proxy, new DescribeCarrierGatewaysRequest(), null)).isSameAs(result);
+        verify(proxy, times(2)).injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any());
+        assertThat(sleeps).hasSize(1);
+    }
+
+    @Test
+    public void invokeRetryingThrottlesOnly_ClientIoError_NotRetried() {
+        when(proxy.injectCredentialsAndInvoke(any(CreateCarrierGatewayRequest.class), any()))
+                .thenThrow(new SdkClientException("Unable to execute HTTP request: Read timed out"));
+
+        assertThrows(SdkClientException.class,
+                () -> invoker.invokeRetryingThrottlesOnly(proxy, new CreateCarrierGatewayRequest(), null));
+
+        verify(proxy, times(1)).injectCredentialsAndInvoke(any(CreateCarrierGatewayRequest.class), any());
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void invokeRetryingThrottlesOnly_TransientError_NotRetried() {
+        when(proxy.injectCredentialsAndInvoke(any(CreateCarrierGatewayRequest.class), any()))
+                .thenThrow(ec2Exception("InternalError"));
+
+        assertThrows(AmazonEC2Exception.class,
+                () -> invoker.invokeRetryingThrottlesOnly(proxy, new CreateCarrierGatewayRequest(), null));
+
+        verify(proxy, times(1)).injectCredentialsAndInvoke(any(CreateCarrierGatewayRequest.class), any());
+    }
+
+    @Test
+    public void invoke_BucketEmpty_WaitsForToken() {
+        final long[] now = {0L};
+        final Ec2Invoker paced = new Ec2Invoker(3, 100L, 1_000L, new TokenBucket(1, 2.0, () -> now[0]), sleeps::add, new Ec2Metrics(() -> 0L));
+        when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
+                .thenReturn(new DescribeCarrierGatewaysResult());
+
+        paced.invoke(proxy, new DescribeCarrierGatewaysRequest(), null);
+        paced.invoke(proxy, new DescribeCarrierGatewaysRequest(), null);
+
+        assertThat(sleeps).containsExactly(500L);
+    }
+
+    @Test
+    public void getHandlerErrorForEc2Error_MapsErrorCategories() {
+        assertThat(Translator.getHandlerErrorForEc2Error("RequestLimitExceeded")).isEqualTo(HandlerErrorCode.Throttling);
+        assertThat(Translator.getHandlerErrorForEc2Error("ServiceUnavailable")).isEqualTo(HandlerErrorCode.ServiceInternalError);
+        assertThat(Translator.getHandlerErrorForEc2Error("InvalidCarrierGatewayID.NotFound")).isEqualTo(HandlerErrorCode.NotFound);
+        assertThat(Translator.getHandlerErrorForEc2Error("DependencyViolation")).isEqualTo(HandlerErrorCode.ResourceConflict);
+        assertThat(Translator.getHandlerErrorForEc2Error("InvalidVpcID.NotFound")).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(Translator.getHandlerErrorForEc2Error("UnauthorizedOperation")).isEqualTo(HandlerErrorCode.AccessDenied);
+        assertThat(Translator.getHandlerErrorForEc2Error("UnexpectedError")).isEqualTo(HandlerErrorCode.GeneralServiceException);
+        assertThat(Translator.getHandlerErrorForEc2Error(null)).isEqualTo(HandlerErrorCode.GeneralServiceException);
+    }
+
+    private static AmazonEC2Exception ec2Exception(final String errorCode) {
+        final AmazonEC2Exception exception = new AmazonEC2Exception(errorCode);
+        exception.setErrorCode(errorCode);
+        return exception;
+    }
+}
@@ -0,0 +1,76 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Ec2MetricsTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<String> lines = new ArrayList<>();
+    private final Ec2Metrics metrics = new Ec2Metrics(() -> 1_600_000_000_000L);
+
+    @Test
+    public void flush_WritesOneEmfLinePerOperation() throws Exception {
+        metrics.recordCall("DescribeCarrierGateways", 12L, null);
+        metrics.recordCall("DescribeCarrierGateways", 30L, "RequestLimitExceeded");
+        metrics.recordRetry("DescribeCarrierGateways");
+        metrics.recordCall("CreateTags", 50L, "UnauthorizedOperation");
+
+        metrics.flush(lines::add);
+
+        assertThat(lines).hasSize(2);
+        final JsonNode describe = find("DescribeCarrierGateways");
+        assertThat(describe.at("/_aws/Timestamp").asLong()).isEqualTo(1_600_000_000_000L);
+        assertThat(describe.at("/_aws/CloudWatchMetrics/0/Namespace").asText()).isEqualTo(Constants.METRICS_NAMESPACE);
+        assertThat(describe.at("/_aws/CloudWatchMetrics/0/Dimensions/0/0").asText()).isEqualTo("Operation");
+        assertThat(describe.get("Latency").toString()).isEqualTo("[12,30]");
+        assertThat(describe.get("Calls").asInt()).isEqualTo(2);
+        assertThat(describe.get("Errors").asInt()).isEqualTo(1);
+        assertThat(describe.get("Throttles").asInt()).isEqualTo(1);
+        assertThat(describe.get("Retries").asInt()).isEqualTo(1);
+        assertThat(describe.at("/ErrorCodes/RequestLimitExceeded").asInt()).isEqualTo(1);
+
+        final JsonNode createTags = find("CreateTags");
+        assertThat(createTags.get("Throttles").asInt()).isEqualTo(0);
+        assertThat(createTags.at("/ErrorCodes/UnauthorizedOperation").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    public void flush_DrainsRecordedMetrics() {
+        metrics.recordCall("DescribeCarrierGateways", 12L, null);
+
+        metrics.flush(lines::add);
+        metrics.flush(lines::add);
+
+        assertThat(lines).hasSize(1);
+    }
+
+    @Test
+    public void recordCall_LatencySamplesAreCapped() throws Exception {
+        for (int i = 0; i < Constants.METRICS_MAX_LATENCY_SAMPLES + 10; i++) {
+            metrics.recordCall("DescribeCarrierGateways", i, null);
+        }
+
+        metrics.flush(lines::add);
+
+        final JsonNode describe = find("DescribeCarrierGateways");
+        assertThat(describe.get("Latency").size()).isEqualTo(Constants.METRICS_MAX_LATENCY_SAMPLES);
+        assertThat(describe.get("Calls").asInt()).isEqualTo(Constants.METRICS_MAX_LATENCY_SAMPLES + 10);
+    }
+
+    private JsonNode find(final String operation) throws Exception {
+        for (final String line : lines) {
+            final JsonNode node = mapper.readTree(line);
+            if (operation.equals(node.get("Operation").asText())) {
+                return node;
+            }
+        }
+        throw new AssertionError("No metrics for " + operation + " in " + lines);
+    }
+}
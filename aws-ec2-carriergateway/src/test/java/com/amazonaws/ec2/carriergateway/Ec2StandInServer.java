@@ -0,0 +1,204 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.services.ec2.model.AmazonEC2Exception;
+import com.amazonaws.services.ec2.model.CarrierGateway;
+import com.amazonaws.services.ec2.model.CreateCarrierGatewayRequest;
+import com.amazonaws.services.ec2.model.CreateTagsRequest;
+import com.amazonaws.services.ec2.model.DeleteCarrierGatewayRequest;
+import com.amazonaws.services.ec2.model.DeleteTagsRequest;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysRequest;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysResult;
+import com.amazonaws.services.ec2.model.Filter;
+import com.amazonaws.services.ec2.model.Tag;
+import com.amazonaws.services.ec2.model.TagSpecification;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Serves {@link FakeEc2} over HTTP in the EC2 Query protocol, so a handler running in another JVM
+ * can reach it by pointing its client at {@link #endpoint()} through {@link ClientBuilder#ENDPOINT_ENV}.
+ *
+ * Covers the carrier gateway and tag actions the handlers call. Signatures are not checked.
+ */
+final class Ec2StandInServer implements AutoCloseable {
+    private static final String XMLNS = "http://ec2.amazonaws.com/doc/2016-11-15/";
+
+    private final FakeEc2 ec2;
+    private final HttpServer server;
+
+    Ec2StandInServer(final FakeEc2 ec2) throws IOException {
+        this.ec2 = ec2;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    String endpoint() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        final String requestId = UUID.randomUUID().toString();
+        int status = 200;
+        String body;
+        try {
+            final Map<String, String> params = parseForm(exchange);
+            body = dispatch(params.get("Action"), params, requestId);
+        } catch (AmazonEC2Exception e) {
+            status = "RequestLimitExceeded".equals(e.getErrorCode()) ? 503 : 400;
+            body = "<Response><Errors><Error><Code>" + escape(e.getErrorCode()) + "</Code><Message>"
+                    + escape(e.getErrorMessage()) + "</Message></Error></Errors><RequestID>" + requestId + "</RequestID></Response>";
+        } catch (RuntimeException e) {
+            status = 500;
+            body = "<Response><Errors><Error><Code>InternalError</Code><Message>" + escape(e.getMessage())
+                    + "</Message></Error></Errors><RequestID>" + requestId + "</RequestID></Response>";
+        }
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/xml;charset=UTF-8");
+        exchange.getResponseHeaders().set("x-amzn-RequestId", requestId);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private String dispatch(final String action, final Map<String, String> params, final String requestId) {
+        if ("CreateCarrierGateway".equals(action)) {
+            final CreateCarrierGatewayRequest request = new CreateCarrierGatewayRequest()
+                    .withVpcId(params.get("VpcId"))
+                    .withClientToken(params.get("ClientToken"));
+            final List<Tag> tags = tags(params, "TagSpecification.1.Tag.");
+            if (!tags.isEmpty()) {
+                request.withTagSpecifications(new TagSpecification().withResourceType("carrier-gateway").withTags(tags));
+            }
+            return response(action, requestId, carrierGateway("carrierGateway", ec2.createCarrierGateway(request).getCarrierGateway()));
+        }
+        if ("DescribeCarrierGateways".equals(action)) {
+            final DescribeCarrierGatewaysRequest request = new DescribeCarrierGatewaysRequest()
+                    .withCarrierGatewayIds(list(params, "CarrierGatewayId."))
+                    .withNextToken(params.get("NextToken"));
+            if (params.containsKey("MaxResults")) {
+                request.withMaxResults(Integer.valueOf(params.get("MaxResults")));
+            }
+            final List<Filter> filters = new ArrayList<>();
+            for (int i = 1; params.containsKey("Filter." + i + ".Name"); i++) {
+                filters.add(new Filter(params.get("Filter." + i + ".Name"), list(params, "Filter." + i + ".Value.")));
+            }
+            if (!filters.isEmpty()) {
+                request.withFilters(filters);
+            }
+            final DescribeCarrierGatewaysResult result = ec2.describeCarrierGateways(request);
+            final StringBuilder set = new StringBuilder("<carrierGatewaySet>");
+            result.getCarrierGateways().forEach(cagw -> set.append(carrierGateway("item", cagw)));
+            set.append("</carrierGatewaySet>");
+            if (result.getNextToken() != null) {
+                set.append("<nextToken>").append(escape(result.getNextToken())).append("</nextToken>");
+            }
+            return response(action, requestId, set.toString());
+        }
+        if ("DeleteCarrierGateway".equals(action)) {
+            final DeleteCarrierGatewayRequest request = new DeleteCarrierGatewayRequest().withCarrierGatewayId(params.get("CarrierGatewayId"));
+            return response(action, requestId, carrierGateway("carrierGateway", ec2.deleteCarrierGateway(request).getCarrierGateway()));
+        }
+        if ("CreateTags".equals(action)) {
+            ec2.createTags(new CreateTagsRequest(list(params, "ResourceId."), tags(params, "Tag.")));
+            return response(action, requestId, "<return>true</return>");
+        }
+        if ("DeleteTags".equals(action)) {
+            ec2.deleteTags(new DeleteTagsRequest(list(params, "ResourceId.")).withTags(tags(params, "Tag.")));
+            return response(action, requestId, "<return>true</return>");
+        }
+        final AmazonEC2Exception unsupported = new AmazonEC2Exception("The action " + action + " is not valid for this web service.");
+        unsupported.setErrorCode("InvalidAction");
+        throw unsupported;
+    }
+
+    private static String response(final String action, final String requestId, final String content) {
+        return "<" + action + "Response xmlns=\"" + XMLNS + "\"><requestId>" + requestId + "</requestId>"
+                + content + "</" + action + "Response>";
+    }
+
+    private static String carrierGateway(final String element, final CarrierGateway cagw) {
+        final StringBuilder xml = new StringBuilder()
+                .append('<').append(element).append('>')
+                .append("<carrierGatewayId>").append(escape(cagw.getCarrierGatewayId())).append("</carrierGatewayId>")
+                .append("<vpcId>").append(escape(cagw.getVpcId())).append("</vpcId>")
+                .append("<state>").append(escape(cagw.getState())).append("</state>")
+                .append("<ownerId>").append(escape(cagw.getOwnerId())).append("</ownerId>")
+                .append("<tagSet>");
+        for (final Tag tag : cagw.getTags()) {
+            xml.append("<item><key>").append(escape(tag.getKey())).append("</key><value>")
+                    .append(escape(tag.getValue())).append("</value></item>");
+        }
+        return xml.append("</tagSet></").append(element).append('>').toString();
+    }
+
+    private static List<String> list(final Map<String, String> params, final String prefix) {
+        final List<String> values = new ArrayList<>();
+        for (int i = 1; params.containsKey(prefix + i); i++) {
+            values.add(params.get(prefix + i));
+        }
+        return values;
+    }
+
+    private static List<Tag> tags(final Map<String, String> params, final String prefix) {
+        final List<Tag> tags = new ArrayList<>();
+        for (int i = 1; params.containsKey(prefix + i + ".Key"); i++) {
+            tags.add(new Tag(params.get(prefix + i + ".Key"), params.get(prefix + i + ".Value")));
+        }
+        return tags;
+    }
+
+    private static Map<String, String> parseForm(final HttpExchange exchange) throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (InputStream in = exchange.getRequestBody()) {
+            final byte[] buffer = new byte[4096];
+            for (int read; (read = in.read(buffer)) > 0; ) {
+                body.write(buffer, 0, read);
+            }
+        }
+        String form = new String(body.toByteArray(), StandardCharsets.UTF_8);
+        if (form.isEmpty() && exchange.getRequestURI().getRawQuery() != null) {
+            form = exchange.getRequestURI().getRawQuery();
+        }
+        final Map<String, String> params = new HashMap<>();
+        for (final String pair : form.split("&")) {
+            final int separator = pair.indexOf('=');
+            if (separator > 0) {
+                params.put(decode(pair.substring(0, separator)), decode(pair.substring(separator + 1)));
+            }
+        }
+        return params;
+    }
+
+    private static String decode(final String value) throws UnsupportedEncodingException {
+        return URLDecoder.decode(value, "UTF-8");
+    }
+
+    private static String escape(final String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,54 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.services.ec2.AmazonEC2;
+import com.amazonaws.services.ec2.model.AmazonEC2Exception;
+import com.amazonaws.services.ec2.model.CarrierGateway;
+import com.amazonaws.services.ec2.model.CreateCarrierGatewayRequest;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysRequest;
+import com.amazonaws.services.ec2.model.Tag;
+import com.amazonaws.services.ec2.model.TagSpecification;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class Ec2StandInServerTest extends TestBase {
+
+    @Test
+    public void sdkClient_CreateAndDescribe_OverHttp() throws Exception {
+        final FakeEc2 ec2 = new FakeEc2().withPendingMillis(0L);
+        try (Ec2StandInServer server = new Ec2StandInServer(ec2)) {
+            final AmazonEC2 client = ClientBuilder.buildClient(server.endpoint());
+            try {
+                final CarrierGateway created = client.createCarrierGateway(withCredentials(new CreateCarrierGatewayRequest()
+                        .withVpcId(VPC_ID)
+                        .withTagSpecifications(new TagSpecification()
+                                .withResourceType("carrier-gateway")
+                                .withTags(new Tag("Name", "MyCagw")))))
+                        .getCarrierGateway();
+
+                final CarrierGateway described = client.describeCarrierGateways(withCredentials(new DescribeCarrierGatewaysRequest()
+                        .withCarrierGatewayIds(created.getCarrierGatewayId())))
+                        .getCarrierGateways().get(0);
+                assertThat(described.getVpcId()).isEqualTo(VPC_ID);
+                assertThat(described.getState()).isEqualTo(FakeEc2.AVAILABLE);
+                assertThat(described.getTags()).containsExactly(new Tag("Name", "MyCagw"));
+
+                final AmazonEC2Exception notFound = assertThrows(AmazonEC2Exception.class,
+                        () -> client.describeCarrierGateways(withCredentials(new DescribeCarrierGatewaysRequest().withCarrierGatewayIds(CAGW_ID))));
+                assertThat(notFound.getErrorCode()).isEqualTo("InvalidCarrierGatewayID.NotFound");
+            } finally {
+                client.shutdown();
+            }
+        }
+    }
+
+    private static <T extends AmazonWebServiceRequest> T withCredentials(final T request) {
+        // the handlers get credentials per request from the proxy, so the client has none of its own
+        request.setRequestCredentialsProvider(new AWSStaticCredentialsProvider(new BasicAWSCredentials("access", "secret")));
+        return request;
+    }
+}
@@ -0,0 +1,38 @@
+package com.amazonaws.ec2.carriergateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EnvironmentSettingsTest {
+    private static final String NAME = "CARRIER_GATEWAY_TEST_SETTING";
+
+    @Test
+    public void readNumber_ValidValue_Parsed() {
+        assertThat(EnvironmentSettings.readNumber(environment(" 250 "), NAME, 10, 0, 1_000)).isEqualTo(250);
+        assertThat(EnvironmentSettings.readNumber(environment("0"), NAME, 10, 0, 1_000)).isEqualTo(0);
+    }
+
+    @Test
+    public void readNumber_UnsetOrInvalid_UsesDefault() {
+        assertThat(EnvironmentSettings.readNumber(environment(null), NAME, 10, 0, 1_000)).isEqualTo(10);
+        assertThat(EnvironmentSettings.readNumber(environment(" "), NAME, 10, 0, 1_000)).isEqualTo(10);
+        assertThat(EnvironmentSettings.readNumber(environment("fast"), NAME, 10, 0, 1_000)).isEqualTo(10);
+        assertThat(EnvironmentSettings.readNumber(environment("NaN"), NAME, 10, 0, 1_000)).isEqualTo(10);
+        assertThat(EnvironmentSettings.readNumber(environment("1001"), NAME, 10, 0, 1_000)).isEqualTo(10);
+        assertThat(EnvironmentSettings.readNumber(environment("0"), NAME, 10, 1, 1_000)).isEqualTo(10);
+    }
+
+    @Test
+    public void readNumber_Negative_UsesDefaultWhateverTheMinimum() {
+        assertThat(EnvironmentSettings.readNumber(environment("-1"), NAME, 10, 0, 1_000)).isEqualTo(10);
+        assertThat(EnvironmentSettings.readNumber(environment("-1"), NAME, 10, -5, 1_000)).isEqualTo(10);
+    }
+
+    private static Function<String, String> environment(final String value) {
+        return Collections.singletonMap(NAME, value)::get;
+    }
+}
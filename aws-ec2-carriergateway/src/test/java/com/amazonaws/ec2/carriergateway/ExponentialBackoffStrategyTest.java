@@ -0,0 +1,44 @@
+package com.amazonaws.ec2.carriergateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ExponentialBackoffStrategyTest {
+
+    @Test
+    public void nextDelaySeconds_FirstAttempt_UsesInitialDelay() {
+        final ExponentialBackoffStrategy strategy = new ExponentialBackoffStrategy(1, 30);
+
+        assertThat(strategy.nextDelaySeconds(0)).isEqualTo(1);
+    }
+
+    @Test
+    public void nextDelaySeconds_GrowsWithinJitterBounds() {
+        final ExponentialBackoffStrategy strategy = new ExponentialBackoffStrategy(1, 30, new Random(42));
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(strategy.nextDelaySeconds(1)).isBetween(1, 2);
+            assertThat(strategy.nextDelaySeconds(2)).isBetween(2, 4);
+            assertThat(strategy.nextDelaySeconds(3)).isBetween(4, 8);
+        }
+    }
+
+    @Test
+    public void nextDelaySeconds_IsCapped() {
+        final ExponentialBackoffStrategy strategy = new ExponentialBackoffStrategy(1, 30, new Random(42));
+
+        for (int attempt = 5; attempt < 100; attempt++) {
+            assertThat(strategy.nextDelaySeconds(attempt)).isBetween(15, 30);
+        }
+    }
+
+    @Test
+    public void constructor_InvalidBounds_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new ExponentialBackoffStrategy(0, 30));
+        assertThrows(IllegalArgumentException.class, () -> new ExponentialBackoffStrategy(10, 5));
+    }
+}
@@ -0,0 +1,436 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.AmazonWebServiceResult;
+import com.amazonaws.ResponseMetadata;
+import com.amazonaws.services.ec2.AbstractAmazonEC2;
+import com.amazonaws.services.ec2.model.AmazonEC2Exception;
+import com.amazonaws.services.ec2.model.CarrierGateway;
+import com.amazonaws.services.ec2.model.CreateCarrierGatewayRequest;
+import com.amazonaws.services.ec2.model.CreateCarrierGatewayResult;
+import com.amazonaws.services.ec2.model.CreateTagsRequest;
+import com.amazonaws.services.ec2.model.CreateTagsResult;
+import com.amazonaws.services.ec2.model.DeleteCarrierGatewayRequest;
+import com.amazonaws.services.ec2.model.DeleteCarrierGatewayResult;
+import com.amazonaws.services.ec2.model.DeleteTagsRequest;
+import com.amazonaws.services.ec2.model.DeleteTagsResult;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysRequest;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysResult;
+import com.amazonaws.services.ec2.model.Filter;
+import com.amazonaws.services.ec2.model.TagSpecification;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * In-memory stand-in for the carrier gateway APIs of EC2.
+ *
+ * Gateways move through pending, available, deleting and deleted on their own as the clock
+ * advances, and deleted gateways stay visible for a while before they disappear, as they do in
+ * EC2. Describe supports IDs, filters and real NextToken paging. Latency, throttling and server
+ * errors can be injected, and every call is counted so tests can assert on API usage.
+ *
+ * Handlers run against it unchanged through {@link #proxy()}, which routes each
+ * injectCredentialsAndInvoke call to this backend instead of the client the handler bound.
+ */
+class FakeEc2 extends AbstractAmazonEC2 {
+    static final String PENDING = "pending";
+    static final String AVAILABLE = "available";
+    static final String DELETING = "deleting";
+    static final String DELETED = "deleted";
+
+    private static final String OWNER_ID = "123456789012";
+    private static final String TOKEN_PREFIX = "fake-token-";
+
+    private static final class Gateway {
+        private final String id;
+        private final String vpcId;
+        private final Map<String, String> tags = new LinkedHashMap<>();
+        private final long createdAt;
+        private long deletedAt = -1L;
+
+        private Gateway(final String id, final String vpcId, final long createdAt) {
+            this.id = id;
+            this.vpcId = vpcId;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private final Map<String, Gateway> gateways = new TreeMap<>();
+    private final Map<String, Gateway> gatewaysByClientToken = new HashMap<>();
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private final AtomicInteger throttles = new AtomicInteger();
+    private final AtomicInteger idSequence = new AtomicInteger();
+    private final Random random;
+    private final LongSupplier clock;
+    private final InlineWaiter.Sleeper sleeper;
+
+    private volatile long pendingMillis = 1_000L;
+    private volatile long deletingMillis = 1_000L;
+    private volatile long deletedVisibleMillis = 60_000L;
+    private volatile long latencyMillis;
+    private volatile double throttleRate;
+    private volatile double errorRate;
+
+    FakeEc2() {
+        this(System::currentTimeMillis, new Random());
+    }
+
+    FakeEc2(final LongSupplier clock, final Random random) {
+        this(clock, Thread::sleep, random);
+    }
+
+    /**
+     * @param sleeper waits out the injected latency, so it can run on the same time scale as {@code clock}
+     */
+    FakeEc2(final LongSupplier clock, final InlineWaiter.Sleeper sleeper, final Random random) {
+        this.clock = clock;
+        this.sleeper = sleeper;
+        this.random = random;
+    }
+
+    FakeEc2 withPendingMillis(final long millis) {
+        this.pendingMillis = millis;
+        return this;
+    }
+
+    FakeEc2 withDeletingMillis(final long millis) {
+        this.deletingMillis = millis;
+        return this;
+    }
+
+    FakeEc2 withDeletedVisibleMillis(final long millis) {
+        this.deletedVisibleMillis = millis;
+        return this;
+    }
+
+    FakeEc2 withLatencyMillis(final long millis) {
+        this.latencyMillis = millis;
+        return this;
+    }
+
+    /**
+     * @param rate fraction of calls, between 0 and 1, rejected with RequestLimitExceeded
+     */
+    FakeEc2 withThrottleRate(final double rate) {
+        this.throttleRate = rate;
+        return this;
+    }
+
+    /**
+     * @param rate fraction of calls, between 0 and 1, failed with InternalError before taking effect
+     */
+    FakeEc2 withErrorRate(final double rate) {
+        this.errorRate = rate;
+        return this;
+    }
+
+    /**
+     * @return a proxy that sends every call a handler makes to this backend
+     */
+    AmazonWebServicesClientProxy proxy() {
+        return proxy(new AtomicInteger());
+    }
+
+    /**
+     * @param callCounter incremented for every call made through the returned proxy
+     */
+    AmazonWebServicesClientProxy proxy(final AtomicInteger callCounter) {
+        // stub-only, so a long-running load test does not keep every invocation around
+        final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class, withSettings().stubOnly());
+        when(proxy.injectCredentialsAndInvoke(any(), any()))
+                .thenAnswer(invocation -> {
+                    callCounter.incrementAndGet();
+                    return dispatch(invocation.getArgument(0));
+                });
+        return proxy;
+    }
+
+    int callCount(final String operation) {
+        final AtomicInteger count = calls.get(operation);
+        return count == null ? 0 : count.get();
+    }
+
+    int totalCallCount() {
+        return calls.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    int throttleCount() {
+        return throttles.get();
+    }
+
+    /**
+     * @return the IDs of all gateways EC2 would currently show, in ID order
+     */
+    List<String> gatewayIds() {
+        synchronized (gateways) {
+            final long now = clock.getAsLong();
+            final List<String> ids = new ArrayList<>();
+            for (final String id : new ArrayList<>(gateways.keySet())) {
+                if (visibleGateway(id, now) != null) {
+                    ids.add(id);
+                }
+            }
+            return Collections.unmodifiableList(ids);
+        }
+    }
+
+    @Override
+    public CreateCarrierGatewayResult createCarrierGateway(final CreateCarrierGatewayRequest request) {
+        beforeCall("CreateCarrierGateway");
+        synchronized (gateways) {
+            final Gateway previous = request.getClientToken() == null ? null : gatewaysByClientToken.get(request.getClientToken());
+            if (previous != null) {
+                if (!previous.vpcId.equals(request.getVpcId())) {
+                    throw error("IdempotentParameterMismatch", 400, "The client token was already used with different parameters");
+                }
+                return new CreateCarrierGatewayResult().withCarrierGateway(toCarrierGateway(previous, clock.getAsLong()));
+            }
+            for (final Gateway existing : gateways.values()) {
+                if (existing.vpcId.equals(request.getVpcId()) && existing.deletedAt < 0) {
+                    throw error("CarrierGatewayAlreadyExists", 400,
+                            "The VPC " + request.getVpcId() + " already has a carrier gateway " + existing.id);
+                }
+            }
+            final Gateway gateway = new Gateway(
+                    String.format("cagw-%017d", idSequence.incrementAndGet()), request.getVpcId(), clock.getAsLong());
+            for (final TagSpecification spec : request.getTagSpecifications()) {
+                spec.getTags().forEach(tag -> gateway.tags.put(tag.getKey(), tag.getValue()));
+            }
+            gateways.put(gateway.id, gateway);
+            if (request.getClientToken() != null) {
+                gatewaysByClientToken.put(request.getClientToken(), gateway);
+            }
+            return new CreateCarrierGatewayResult().withCarrierGateway(toCarrierGateway(gateway, clock.getAsLong()));
+        }
+    }
+
+    @Override
+    public DeleteCarrierGatewayResult deleteCarrierGateway(final DeleteCarrierGatewayRequest request) {
+        beforeCall("DeleteCarrierGateway");
+        synchronized (gateways) {
+            final long now = clock.getAsLong();
+            final Gateway gateway = visibleGateway(request.getCarrierGatewayId(), now);
+            if (gateway == null || gateway.deletedAt >= 0) {
+                throw notFound(request.getCarrierGatewayId());
+            }
+            gateway.deletedAt = now;
+            return new DeleteCarrierGatewayResult().withCarrierGateway(toCarrierGateway(gateway, now));
+        }
+    }
+
+    @Override
+    public DescribeCarrierGatewaysResult describeCarrierGateways(final DescribeCarrierGatewaysRequest request) {
+        beforeCall("DescribeCarrierGateways");
+        synchronized (gateways) {
+            final long now = clock.getAsLong();
+            final List<CarrierGateway> matches = new ArrayList<>();
+            if (!request.getCarrierGatewayIds().isEmpty()) {
+                for (final String id : request.getCarrierGatewayIds()) {
+                    final Gateway gateway = visibleGateway(id, now);
+                    if (gateway == null) {
+                        throw notFound(id);
+                    }
+                    matches.add(toCarrierGateway(gateway, now));
+                }
+            } else {
+                for (final String id : new ArrayList<>(gateways.keySet())) {
+                    final Gateway gateway = visibleGateway(id, now);
+                    if (gateway != null) {
+                        matches.add(toCarrierGateway(gateway, now));
+                    }
+                }
+            }
+            matches.removeIf(cagw -> !matchesFilters(cagw, request.getFilters()));
+
+            final int offset = parseToken(request.getNextToken());
+            final int pageSize = request.getMaxResults() == null ? Integer.MAX_VALUE : request.getMaxResults();
+            final int end = (int) Math.min(matches.size(), (long) offset + pageSize);
+            final DescribeCarrierGatewaysResult result = new DescribeCarrierGatewaysResult()
+                    .withCarrierGateways(new ArrayList<>(matches.subList(Math.min(offset, end), end)));
+            if (end < matches.size()) {
+                result.setNextToken(TOKEN_PREFIX + end);
+            }
+            return result;
+        }
+    }
+
+    @Override
+    public CreateTagsResult createTags(final CreateTagsRequest request) {
+        beforeCall("CreateTags");
+        synchronized (gateways) {
+            for (final Gateway gateway : taggableGateways(request.getResources())) {
+                request.getTags().forEach(tag -> gateway.tags.put(tag.getKey(), tag.getValue()));
+            }
+            return new CreateTagsResult();
+        }
+    }
+
+    @Override
+    public DeleteTagsResult deleteTags(final DeleteTagsRequest request) {
+        beforeCall("DeleteTags");
+        synchronized (gateways) {
+            for (final Gateway gateway : taggableGateways(request.getResources())) {
+                // A tag without a value is removed whatever its value; one with a value only if it matches
+                request.getTags().forEach(tag -> {
+                    if (tag.getValue() == null || tag.getValue().equals(gateway.tags.get(tag.getKey()))) {
+                        gateway.tags.remove(tag.getKey());
+                    }
+                });
+            }
+            return new DeleteTagsResult();
+        }
+    }
+
+    private AmazonWebServiceResult<ResponseMetadata> dispatch(final AmazonWebServiceRequest request) {
+        if (request instanceof DescribeCarrierGatewaysRequest) {
+            return describeCarrierGateways((DescribeCarrierGatewaysRequest) request);
+        }
+        if (request instanceof CreateCarrierGatewayRequest) {
+            return createCarrierGateway((CreateCarrierGatewayRequest) request);
+        }
+        if (request instanceof DeleteCarrierGatewayRequest) {
+            return deleteCarrierGateway((DeleteCarrierGatewayRequest) request);
+        }
+        if (request instanceof CreateTagsRequest) {
+            return createTags((CreateTagsRequest) request);
+        }
+        if (request instanceof DeleteTagsRequest) {
+            return deleteTags((DeleteTagsRequest) request);
+        }
+        throw new UnsupportedOperationException("FakeEc2 does not support " + request.getClass().getSimpleName());
+    }
+
+    private void beforeCall(final String operation) {
+        calls.computeIfAbsent(operation, o -> new AtomicInteger()).incrementAndGet();
+        if (latencyMillis > 0) {
+            try {
+                sleeper.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        final double roll;
+        synchronized (random) {
+            roll = random.nextDouble();
+        }
+        if (roll < throttleRate) {
+            throttles.incrementAndGet();
+            throw error("RequestLimitExceeded", 503, "Request limit exceeded.");
+        }
+        if (roll < throttleRate + errorRate) {
+            throw error("InternalError", 500, "An internal error has occurred.");
+        }
+    }
+
+    /**
+     * @return the gateway if EC2 would still show it, or null once it is unknown or its deleted state has aged out
+     */
+    private Gateway visibleGateway(final String id, final long now) {
+        final Gateway gateway = gateways.get(id);
+        if (gateway == null) {
+            return null;
+        }
+        if (gateway.deletedAt >= 0 && now - gateway.deletedAt >= deletingMillis + deletedVisibleMillis) {
+            gateways.remove(id);
+            return null;
+        }
+        return gateway;
+    }
+
+    private List<Gateway> taggableGateways(final List<String> ids) {
+        final long now = clock.getAsLong();
+        final List<Gateway> result = new ArrayList<>(ids.size());
+        for (final String id : ids) {
+            final Gateway gateway = visibleGateway(id, now);
+            if (gateway == null) {
+                throw notFound(id);
+            }
+            result.add(gateway);
+        }
+        return result;
+    }
+
+    private String stateOf(final Gateway gateway, final long now) {
+        if (gateway.deletedAt >= 0) {
+            return now - gateway.deletedAt < deletingMillis ? DELETING : DELETED;
+        }
+        return now - gateway.createdAt < pendingMillis ? PENDING : AVAILABLE;
+    }
+
+    private CarrierGateway toCarrierGateway(final Gateway gateway, final long now) {
+        final List<com.amazonaws.services.ec2.model.Tag> tags = new ArrayList<>();
+        gateway.tags.forEach((key, value) -> tags.add(new com.amazonaws.services.ec2.model.Tag().withKey(key).withValue(value)));
+        return new CarrierGateway()
+                .withCarrierGatewayId(gateway.id)
+                .withVpcId(gateway.vpcId)
+                .withOwnerId(OWNER_ID)
+                .withState(stateOf(gateway, now))
+                .withTags(tags);
+    }
+
+    private static boolean matchesFilters(final CarrierGateway cagw, final List<Filter> filters) {
+        for (final Filter filter : filters) {
+            final String actual;
+            if ("vpc-id".equals(filter.getName())) {
+                actual = cagw.getVpcId();
+            } else if ("state".equals(filter.getName())) {
+                actual = cagw.getState();
+            } else if ("owner-id".equals(filter.getName())) {
+                actual = cagw.getOwnerId();
+            } else if (filter.getName().startsWith("tag:")) {
+                final String key = filter.getName().substring("tag:".length());
+                actual = cagw.getTags().stream()
+                        .filter(tag -> key.equals(tag.getKey()))
+                        .map(com.amazonaws.services.ec2.model.Tag::getValue)
+                        .findFirst()
+                        .orElse(null);
+            } else {
+                throw error("InvalidParameterValue", 400, "The filter '" + filter.getName() + "' is invalid");
+            }
+            if (actual == null || !filter.getValues().contains(actual)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int parseToken(final String nextToken) {
+        if (nextToken == null) {
+            return 0;
+        }
+        if (!nextToken.startsWith(TOKEN_PREFIX)) {
+            throw error("InvalidParameterValue", 400, "Invalid NextToken: " + nextToken);
+        }
+        return Integer.parseInt(nextToken.substring(TOKEN_PREFIX.length()));
+    }
+
+    private static AmazonEC2Exception notFound(final String id) {
+        return error("InvalidCarrierGatewayID.NotFound", 400, "The carrierGateway ID '" + id + "' does not exist");
+    }
+
+    private static AmazonEC2Exception error(final String errorCode, final int statusCode, final String message) {
+        final AmazonEC2Exception exception = new AmazonEC2Exception(message);
+        exception.setErrorCode(errorCode);
+        exception.setStatusCode(statusCode);
+        exception.setServiceName("AmazonEC2");
+        exception.setRequestId(UUID.randomUUID().toString());
+        return exception;
+    }
+}
@@ -0,0 +1,145 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.services.ec2.model.AmazonEC2Exception;
+import com.amazonaws.services.ec2.model.CreateCarrierGatewayRequest;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysRequest;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+public class FakeEc2Test extends TestBase {
+
+    private final long[] now = {0L};
+
+    private FakeEc2 ec2;
+    private AmazonWebServicesClientProxy proxy;
+    private Logger logger;
+
+    @BeforeEach
+    public void setup() {
+        ec2 = new FakeEc2(() -> now[0], new Random(42))
+                .withPendingMillis(1_000L)
+                .withDeletingMillis(1_000L)
+                .withDeletedVisibleMillis(0L);
+        proxy = ec2.proxy();
+        logger = mock(Logger.class);
+    }
+
+    @Test
+    public void describeCarrierGateways_PagesWithNextToken() {
+        for (int i = 0; i < 12; i++) {
+            ec2.createCarrierGateway(new CreateCarrierGatewayRequest().withVpcId("vpc-" + i));
+        }
+
+        final List<String> seen = new ArrayList<>();
+        String nextToken = null;
+        int pages = 0;
+        do {
+            final DescribeCarrierGatewaysResult page = ec2.describeCarrierGateways(
+                    new DescribeCarrierGatewaysRequest().withMaxResults(5).withNextToken(nextToken));
+            page.getCarrierGateways().forEach(cagw -> seen.add(cagw.getCarrierGatewayId()));
+            nextToken = page.getNextToken();
+            pages++;
+        } while (nextToken != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(ec2.gatewayIds());
+        assertThat(ec2.callCount("DescribeCarrierGateways")).isEqualTo(3);
+    }
+
+    @Test
+    public void describeCarrierGateways_StateAdvancesWithClock() {
+        final String cagwId = ec2.createCarrierGateway(new CreateCarrierGatewayRequest().withVpcId(VPC_ID))
+                .getCarrierGateway().getCarrierGatewayId();
+
+        assertThat(stateOf(cagwId)).isEqualTo(FakeEc2.PENDING);
+        now[0] += 1_000L;
+        assertThat(stateOf(cagwId)).isEqualTo(FakeEc2.AVAILABLE);
+    }
+
+    @Test
+    public void describeCarrierGateways_UnknownId_NotFound() {
+        final AmazonEC2Exception thrown = assertThrows(AmazonEC2Exception.class,
+                () -> ec2.describeCarrierGateways(new DescribeCarrierGatewaysRequest().withCarrierGatewayIds(CAGW_ID)));
+
+        assertThat(thrown.getErrorCode()).isEqualTo("InvalidCarrierGatewayID.NotFound");
+    }
+
+    @Test
+    public void createCarrierGateway_Throttled_CountedAndRejected() {
+        ec2.withThrottleRate(1.0);
+
+        final AmazonEC2Exception thrown = assertThrows(AmazonEC2Exception.class,
+                () -> ec2.createCarrierGateway(new CreateCarrierGatewayRequest().withVpcId(VPC_ID)));
+
+        assertThat(thrown.getErrorCode()).isEqualTo("RequestLimitExceeded");
+        assertThat(ec2.throttleCount()).isEqualTo(1);
+        assertThat(ec2.gatewayIds()).isEmpty();
+    }
+
+    @Test
+    public void handlers_FullLifecycle_AgainstFake() {
+        final ResourceModel desired = ResourceModel.builder()
+                .vpcId(VPC_ID)
+                .tags(Collections.singleton(Tag.builder().key("Name").value("MyCagw").build()))
+                .build();
+
+        final CreateHandler createHandler = new CreateHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
+        ProgressEvent<ResourceModel, CallbackContext> response = createHandler.handleRequest(proxy, request(desired, null), null, logger);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getResourceModel().getState()).isEqualTo(FakeEc2.PENDING);
+
+        now[0] += 1_000L;
+        response = createHandler.handleRequest(proxy, request(response.getResourceModel(), null), response.getCallbackContext(), logger);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        final ResourceModel created = response.getResourceModel();
+        assertThat(created.getState()).isEqualTo(FakeEc2.AVAILABLE);
+
+        final ResourceModel updated = ResourceModel.builder()
+                .vpcId(VPC_ID)
+                .carrierGatewayId(created.getCarrierGatewayId())
+                .tags(Collections.singleton(Tag.builder().key("Stage").value("Prod").build()))
+                .build();
+        response = new UpdateHandler(NO_SLEEP_INVOKER).handleRequest(proxy, request(updated, created), null, logger);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        response = new ReadHandler(NO_SLEEP_INVOKER).handleRequest(proxy, request(updated, null), null, logger);
+        assertThat(response.getResourceModel().getTags()).isEqualTo(updated.getTags());
+
+        final DeleteHandler deleteHandler = new DeleteHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER);
+        response = deleteHandler.handleRequest(proxy, request(updated, null), null, logger);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+
+        now[0] += 1_000L;
+        response = deleteHandler.handleRequest(proxy, request(updated, null), response.getCallbackContext(), logger);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(ec2.gatewayIds()).isEmpty();
+        assertThat(ec2.callCount("CreateCarrierGateway")).isEqualTo(1);
+        assertThat(ec2.callCount("DeleteCarrierGateway")).isEqualTo(1);
+    }
+
+    private String stateOf(final String cagwId) {
+        return ec2.describeCarrierGateways(new DescribeCarrierGatewaysRequest().withCarrierGatewayIds(cagwId))
+                .getCarrierGateways().get(0).getState();
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final ResourceModel desired, final ResourceModel previous) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(desired)
+                .previousResourceState(previous)
+                .build();
+    }
+}
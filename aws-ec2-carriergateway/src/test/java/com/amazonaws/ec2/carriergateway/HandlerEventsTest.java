@@ -0,0 +1,75 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.ResponseMetadata;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysRequest;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysResult;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class HandlerEventsTest extends TestBase {
+    private static final String REQUEST_ID = "11111111-2222-3333-4444-555555555555";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void listHandler_RecordsPhasesAndEc2Calls() throws Exception {
+        final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+        final DescribeCarrierGatewaysResult page = new DescribeCarrierGatewaysResult().withCarrierGateways(TEST_CAGW);
+        page.setSdkResponseMetadata(new ResponseMetadata(Collections.singletonMap(ResponseMetadata.AWS_REQUEST_ID, REQUEST_ID)));
+        when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any())).thenReturn(page);
+
+        final List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(JfrRecorder.PHASE_EVENT_NAME);
+            recording.enable(JfrRecorder.CALL_EVENT_NAME);
+            recording.start();
+            new ListHandler(NO_SLEEP_INVOKER).handleRequest(proxy, ResourceHandlerRequest.<ResourceModel>builder()
+                    .desiredResourceState(ResourceModel.builder().build())
+                    .build(), null, mock(Logger.class));
+            recording.stop();
+            final Path file = tempDir.resolve("handlers.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        final Map<String, RecordedEvent> phases = events.stream()
+                .filter(e -> e.getEventType().getName().equals(JfrRecorder.PHASE_EVENT_NAME))
+                .collect(Collectors.toMap(e -> e.getString("phase"), e -> e));
+        assertThat(phases).containsOnlyKeys("PageFetch", "Translate");
+        assertThat(phases.values()).allMatch(e -> "List".equals(e.getString("handler")));
+        assertThat(phases.get("PageFetch").getString("requestId")).isEqualTo(REQUEST_ID);
+        assertThat(phases.get("Translate").getString("requestId")).isNull();
+
+        final List<RecordedEvent> calls = events.stream()
+                .filter(e -> e.getEventType().getName().equals(JfrRecorder.CALL_EVENT_NAME))
+                .collect(Collectors.toList());
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0).getString("operation")).isEqualTo("DescribeCarrierGateways");
+        assertThat(calls.get(0).getString("requestId")).isEqualTo(REQUEST_ID);
+        assertThat(calls.get(0).getInt("attempt")).isEqualTo(1);
+    }
+
+    @Test
+    public void begin_NoRecording_ReturnsNoOp() {
+        assertThat(HandlerEvents.beginPhase("List", "Describe")).isSameAs(HandlerEvents.NO_OP_PHASE);
+        assertThat(HandlerEvents.beginCall("DescribeCarrierGateways", 1)).isSameAs(HandlerEvents.NO_OP_CALL);
+    }
+}
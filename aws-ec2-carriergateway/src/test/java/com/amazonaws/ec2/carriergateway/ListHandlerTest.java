@@ -1,6 +1,8 @@
 package com.amazonaws.ec2.carriergateway;
 
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysRequest;
 import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysResult;
+import com.amazonaws.services.ec2.model.Filter;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
@@ -12,12 +14,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Arrays;
+import java.util.Collections;
 
+import static com.amazonaws.ec2.carriergateway.Constants.LIST_MAX_RESULTS;
 import static com.amazonaws.ec2.carriergateway.Translator.createModelFromCarrierGateway;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,8 +42,8 @@ public class ListHandlerTest extends TestBase {
     }
 
     @Test
-    public void handleRequest_SimpleSuccess() {
-        final ListHandler handler = new ListHandler();
+    public void handleRequest_FirstPage_ReturnsNextToken() {
+        final ListHandler handler = new ListHandler(NO_SLEEP_INVOKER);
 
         final ResourceModel model = ResourceModel.builder().build();
 
@@ -49,28 +55,116 @@ public class ListHandlerTest extends TestBase {
                 .withCarrierGateways(PENDING_CAGW)
                 .withNextToken("token");
 
-        final DescribeCarrierGatewaysResult resultWithCagw = new DescribeCarrierGatewaysResult()
-                .withCarrierGateways(TEST_CAGW);
-
         when(proxy.injectCredentialsAndInvoke(any(), any()))
-                .thenReturn(resultWithToken)
-                .thenReturn(resultWithCagw);
+                .thenReturn(resultWithToken);
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
                 handler.handleRequest(proxy, request, null, logger);
 
+        final DescribeCarrierGatewaysRequest expectedRequest = new DescribeCarrierGatewaysRequest()
+                .withMaxResults(LIST_MAX_RESULTS);
+        verify(proxy, times(1)).injectCredentialsAndInvoke(eq(expectedRequest), any());
+
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
         assertThat(response.getCallbackContext()).isNull();
         assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
         assertThat(response.getResourceModel()).isNull();
         assertThat(response.getResourceModels()).isEqualTo(
-                Arrays.asList(
-                        createModelFromCarrierGateway(PENDING_CAGW),
-                        createModelFromCarrierGateway(TEST_CAGW)
-                )
-        );
+                Collections.singletonList(createModelFromCarrierGateway(PENDING_CAGW)));
+        assertThat(response.getNextToken()).isEqualTo("token");
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void handleRequest_LastPage_PassesIncomingToken() {
+        final ListHandler handler = new ListHandler(NO_SLEEP_INVOKER);
+
+        final ResourceModel model = ResourceModel.builder().build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .nextToken("token")
+                .build();
+
+        final DescribeCarrierGatewaysResult resultWithCagw = new DescribeCarrierGatewaysResult()
+                .withCarrierGateways(TEST_CAGW);
+
+        when(proxy.injectCredentialsAndInvoke(any(), any()))
+                .thenReturn(resultWithCagw);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        final DescribeCarrierGatewaysRequest expectedRequest = new DescribeCarrierGatewaysRequest()
+                .withMaxResults(LIST_MAX_RESULTS)
+                .withNextToken("token");
+        verify(proxy, times(1)).injectCredentialsAndInvoke(eq(expectedRequest), any());
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).isEqualTo(
+                Collections.singletonList(createModelFromCarrierGateway(TEST_CAGW)));
+        assertThat(response.getNextToken()).isNull();
+        assertThat(response.getErrorCode()).isNull();
+    }
+
+    @Test
+    public void handleRequest_ModelProperties_SentAsFilters() {
+        final ListHandler handler = new ListHandler(NO_SLEEP_INVOKER);
+
+        final ResourceModel model = ResourceModel.builder()
+                .vpcId(VPC_ID)
+                .state("available")
+                .tags(Collections.singleton(Tag.builder().key("Stage").value("Prod").build()))
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(proxy.injectCredentialsAndInvoke(any(), any()))
+                .thenReturn(new DescribeCarrierGatewaysResult().withCarrierGateways(TEST_CAGW_WITH_TAGS));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        final DescribeCarrierGatewaysRequest expectedRequest = new DescribeCarrierGatewaysRequest()
+                .withMaxResults(LIST_MAX_RESULTS)
+                .withFilters(
+                        new Filter().withName("vpc-id").withValues(VPC_ID),
+                        new Filter().withName("state").withValues("available"),
+                        new Filter().withName("tag:Stage").withValues("Prod"));
+        verify(proxy, times(1)).injectCredentialsAndInvoke(eq(expectedRequest), any());
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).isEqualTo(
+                Collections.singletonList(createModelFromCarrierGateway(TEST_CAGW_WITH_TAGS)));
+        assertThat(response.getNextToken()).isNull();
+    }
+
+    @Test
+    public void handleRequest_TagWithoutValue_SentAsTagKeyFilter() {
+        final ListHandler handler = new ListHandler(NO_SLEEP_INVOKER);
+
+        final ResourceModel model = ResourceModel.builder()
+                .tags(Collections.singleton(Tag.builder().key("Stage").build()))
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(proxy.injectCredentialsAndInvoke(any(), any()))
+                .thenReturn(new DescribeCarrierGatewaysResult().withCarrierGateways(TEST_CAGW_WITH_TAGS));
+
+        handler.handleRequest(proxy, request, null, logger);
+
+        final DescribeCarrierGatewaysRequest expectedRequest = new DescribeCarrierGatewaysRequest()
+                .withMaxResults(LIST_MAX_RESULTS)
+                .withFilters(new Filter().withName("tag-key").withValues("Stage"));
+        verify(proxy, times(1)).injectCredentialsAndInvoke(eq(expectedRequest), any());
+    }
+}
@@ -0,0 +1,258 @@
+package com.amazonaws.ec2.carriergateway;
+
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives many concurrent stack operations through the real handlers against {@link FakeEc2}.
+ *
+ * Each simulated stack creates a carrier gateway, reads it, updates its tags and deletes it.
+ * Whenever a handler returns IN_PROGRESS the driver calls it again with the returned model and
+ * callback context after the returned callback delay, the way CloudFormation does.
+ *
+ * The whole run happens on simulated time that passes {@code timeScale} times faster than real
+ * time, so a run finishes in reasonable time. Callback delays, the handlers' inline polling,
+ * FakeEc2's state transitions and its injected latency all use that clock, so every wait shrinks
+ * by the same factor and worker threads are not held in waits that the rest of the run skips.
+ * Reported latencies and throughput are in real time.
+ *
+ * Run with {@code mvn -Pload verify -DskipTests}, or directly with arguments such as
+ * {@code stacks=2000 threads=256 timeScale=100 throttleRate=0.02 latencyMillis=20}.
+ */
+final class LoadDriver {
+    private static final Logger NO_OP_LOGGER = message -> { };
+
+    private final int stacks;
+    private final int threads;
+    private final double timeScale;
+    private final long epochMillis = System.currentTimeMillis();
+    private final long epochNanos = System.nanoTime();
+    private final FakeEc2 ec2;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, List<OperationResult>> results = new HashMap<>();
+
+    private static final class OperationResult {
+        private final long elapsedMillis;
+        private final int invocations;
+        private final int apiCalls;
+        private final boolean succeeded;
+
+        private OperationResult(final long elapsedMillis, final int invocations, final int apiCalls, final boolean succeeded) {
+            this.elapsedMillis = elapsedMillis;
+            this.invocations = invocations;
+            this.apiCalls = apiCalls;
+            this.succeeded = succeeded;
+        }
+    }
+
+    LoadDriver(final Map<String, String> options) {
+        this.stacks = Integer.parseInt(options.getOrDefault("stacks", "1000"));
+        this.threads = Integer.parseInt(options.getOrDefault("threads", "200"));
+        this.timeScale = Double.parseDouble(options.getOrDefault("timeScale", "100"));
+        this.ec2 = new FakeEc2(this::simulatedMillis, this::sleepSimulated, new Random())
+                .withPendingMillis(Long.parseLong(options.getOrDefault("pendingMillis", "1000")))
+                .withDeletingMillis(Long.parseLong(options.getOrDefault("deletingMillis", "1000")))
+                .withDeletedVisibleMillis(Long.parseLong(options.getOrDefault("deletedVisibleMillis", "0")))
+                .withLatencyMillis(Long.parseLong(options.getOrDefault("latencyMillis", "20")))
+                .withThrottleRate(Double.parseDouble(options.getOrDefault("throttleRate", "0.0")))
+                .withErrorRate(Double.parseDouble(options.getOrDefault("errorRate", "0.0")));
+        this.workers = Executors.newFixedThreadPool(threads);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final Map<String, String> options = new HashMap<>();
+        for (final String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+        final LoadDriver driver = new LoadDriver(options);
+        try {
+            driver.run(System.out);
+        } finally {
+            driver.shutdown();
+        }
+    }
+
+    void run(final PrintStream out) {
+        final long start = System.nanoTime();
+        final List<CompletableFuture<Void>> lifecycles = new ArrayList<>(stacks);
+        for (int i = 0; i < stacks; i++) {
+            lifecycles.add(lifecycle(i));
+        }
+        CompletableFuture.allOf(lifecycles.toArray(new CompletableFuture<?>[0])).join();
+        report(out, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    void shutdown() {
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private CompletableFuture<Void> lifecycle(final int stack) {
+        final ResourceModel desired = ResourceModel.builder()
+                .vpcId(String.format("vpc-%017d", stack))
+                .tags(Collections.singleton(Tag.builder().key("Stack").value("stack-" + stack).build()))
+                .build();
+
+        return operation("Create", new CreateHandler(callbackDelay(), inlineWaiter()), desired, null)
+                .thenCompose(created -> operation("Read", new ReadHandler(), created, null)
+                        .thenCompose(read -> {
+                            final ResourceModel updated = ResourceModel.builder()
+                                    .vpcId(created.getVpcId())
+                                    .carrierGatewayId(created.getCarrierGatewayId())
+                                    .tags(Collections.singleton(Tag.builder().key("Stage").value("Prod").build()))
+                                    .build();
+                            return operation("Update", new UpdateHandler(), updated, created);
+                        })
+                        .thenCompose(updated -> operation("Delete", new DeleteHandler(callbackDelay(), deletingCallbackDelay(), inlineWaiter()), created, null)))
+                .handle((model, failure) -> null);
+    }
+
+    private static DelayStrategy callbackDelay() {
+        return new ExponentialBackoffStrategy(Constants.INITIAL_POLLING_DELAY_SECONDS, Constants.MAX_POLLING_DELAY_SECONDS);
+    }
+
+    private static DelayStrategy deletingCallbackDelay() {
+        return new ExponentialBackoffStrategy(Constants.DELETING_INITIAL_POLLING_DELAY_SECONDS, Constants.DELETING_MAX_POLLING_DELAY_SECONDS);
+    }
+
+    private InlineWaiter inlineWaiter() {
+        return new InlineWaiter(Constants.INLINE_WAIT_BUDGET_MILLIS, Constants.INLINE_POLL_INTERVAL_MILLIS,
+                this::simulatedMillis, this::sleepSimulated);
+    }
+
+    private long simulatedMillis() {
+        return epochMillis + (long) ((System.nanoTime() - epochNanos) * timeScale / TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private void sleepSimulated(final long millis) throws InterruptedException {
+        TimeUnit.NANOSECONDS.sleep((long) (TimeUnit.MILLISECONDS.toNanos(millis) / timeScale));
+    }
+
+    /**
+     * Runs one operation to completion, replaying callbacks, and completes with the final model.
+     */
+    private CompletableFuture<ResourceModel> operation(
+            final String name,
+            final BaseHandler<CallbackContext> handler,
+            final ResourceModel desired,
+            final ResourceModel previous) {
+
+        final CompletableFuture<ResourceModel> done = new CompletableFuture<>();
+        final AtomicInteger apiCalls = new AtomicInteger();
+        final AmazonWebServicesClientProxy proxy = ec2.proxy(apiCalls);
+        final long start = System.nanoTime();
+        invoke(name, handler, proxy, desired, previous, null, 1, start, apiCalls, done);
+        return done;
+    }
+
+    private void invoke(
+            final String name,
+            final BaseHandler<CallbackContext> handler,
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceModel desired,
+            final ResourceModel previous,
+            final CallbackContext context,
+            final int invocation,
+            final long start,
+            final AtomicInteger apiCalls,
+            final CompletableFuture<ResourceModel> done) {
+
+        workers.execute(() -> {
+            final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                    .desiredResourceState(desired)
+                    .previousResourceState(previous)
+                    .build();
+            final ProgressEvent<ResourceModel, CallbackContext> event;
+            try {
+                event = handler.handleRequest(proxy, request, context, NO_OP_LOGGER);
+            } catch (RuntimeException e) {
+                record(name, start, invocation, apiCalls, false);
+                done.completeExceptionally(e);
+                return;
+            }
+            if (event.getStatus() == OperationStatus.IN_PROGRESS) {
+                final ResourceModel next = event.getResourceModel() != null ? event.getResourceModel() : desired;
+                final long delayMillis = (long) (event.getCallbackDelaySeconds() * 1_000L / timeScale);
+                scheduler.schedule(
+                        () -> invoke(name, handler, proxy, next, previous, event.getCallbackContext(), invocation + 1, start, apiCalls, done),
+                        delayMillis, TimeUnit.MILLISECONDS);
+                return;
+            }
+            final boolean succeeded = event.getStatus() == OperationStatus.SUCCESS;
+            record(name, start, invocation, apiCalls, succeeded);
+            if (succeeded) {
+                done.complete(event.getResourceModel() != null ? event.getResourceModel() : desired);
+            } else {
+                done.completeExceptionally(new IllegalStateException(name + " failed: " + event.getMessage()));
+            }
+        });
+    }
+
+    private void record(final String name, final long start, final int invocations, final AtomicInteger apiCalls, final boolean succeeded) {
+        final OperationResult result = new OperationResult(
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), invocations, apiCalls.get(), succeeded);
+        synchronized (results) {
+            results.computeIfAbsent(name, n -> new ArrayList<>()).add(result);
+        }
+    }
+
+    private void report(final PrintStream out, final long wallMillis) {
+        out.printf("stacks=%d threads=%d timeScale=%.0f wall=%dms%n", stacks, threads, timeScale, wallMillis);
+        synchronized (results) {
+            for (final String name : new String[] {"Create", "Read", "Update", "Delete"}) {
+                final List<OperationResult> operations = results.getOrDefault(name, Collections.emptyList());
+                if (operations.isEmpty()) {
+                    continue;
+                }
+                final List<Long> latencies = new ArrayList<>(operations.size());
+                long failures = 0;
+                long invocations = 0;
+                long apiCalls = 0;
+                for (final OperationResult operation : operations) {
+                    latencies.add(operation.elapsedMillis);
+                    failures += operation.succeeded ? 0 : 1;
+                    invocations += operation.invocations;
+                    apiCalls += operation.apiCalls;
+                }
+                Collections.sort(latencies);
+                out.printf("%-6s count=%d failed=%d throughput=%.1f/s p50=%dms p99=%dms invocations/op=%.2f apiCalls/op=%.2f%n",
+                        name,
+                        operations.size(),
+                        failures,
+                        operations.size() * 1_000.0 / Math.max(1L, wallMillis),
+                        percentile(latencies, 0.50),
+                        percentile(latencies, 0.99),
+                        (double) invocations / operations.size(),
+                        (double) apiCalls / operations.size());
+            }
+        }
+        out.printf("ec2 calls=%d throttled=%d%n", ec2.totalCallCount(), ec2.throttleCount());
+    }
+
+    private static long percentile(final List<Long> sorted, final double quantile) {
+        final int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, index)));
+    }
+}
@@ -0,0 +1,183 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the native executable built by the native profile the way Lambda's provided.al2 runtime
+ * does: the executable polls a stand-in of the Lambda Runtime API for invocations and calls EC2
+ * through {@link Ec2StandInServer}. A type missing from src/native/config fails here, not on the JVM.
+ *
+ * Runs under failsafe with {@code mvn -Pnative verify}, which sets {@value #IMAGE_PROPERTY}.
+ */
+@EnabledIfSystemProperty(named = NativeImageSmokeIT.IMAGE_PROPERTY, matches = ".+")
+public class NativeImageSmokeIT {
+    static final String IMAGE_PROPERTY = "native.image";
+    static final String CLIENT_PROPERTY = "native.ec2Client";
+
+    private static final String HANDLER = "com.amazonaws.ec2.carriergateway.HandlerWrapper::handleRequest";
+    private static final long TIMEOUT_SECONDS = 30L;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private Ec2StandInServer ec2;
+    private RuntimeApi runtimeApi;
+    private Process process;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        ec2 = new Ec2StandInServer(new FakeEc2().withPendingMillis(0L));
+        runtimeApi = new RuntimeApi();
+
+        final File image = new File(System.getProperty(IMAGE_PROPERTY));
+        assertThat(image).canRead();
+        final ProcessBuilder builder = new ProcessBuilder(image.getAbsolutePath(), HANDLER).inheritIO();
+        builder.environment().put("AWS_LAMBDA_RUNTIME_API", runtimeApi.address());
+        builder.environment().put("AWS_REGION", "us-east-1");
+        builder.environment().put("AWS_EC2_METADATA_DISABLED", "true");
+        builder.environment().put(ClientBuilder.ENDPOINT_ENV, ec2.endpoint());
+        final String client = System.getProperty(CLIENT_PROPERTY);
+        if (client != null && !client.isEmpty()) {
+            builder.environment().put(ClientBuilder.CLIENT_ENV, client);
+        }
+        process = builder.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (process != null) {
+            process.destroyForcibly();
+        }
+        if (runtimeApi != null) {
+            runtimeApi.close();
+        }
+        if (ec2 != null) {
+            ec2.close();
+        }
+    }
+
+    @Test
+    public void nativeImage_CreateThenRead_Succeeds() throws Exception {
+        final JsonNode created = invoke(payload("create")
+                .replace("${vpcId}", "vpc-00000000000000001"));
+        assertThat(created.path("status").asText()).isIn("IN_PROGRESS", "SUCCESS");
+        final String cagwId = created.path("resourceModel").path("CarrierGatewayId").asText();
+        assertThat(cagwId).startsWith("cagw-");
+
+        final JsonNode read = invoke(payload("read").replace("${carrierGatewayId}", cagwId));
+        assertThat(read.path("status").asText()).isEqualTo("SUCCESS");
+        assertThat(read.path("resourceModel").path("VpcId").asText()).isEqualTo("vpc-00000000000000001");
+    }
+
+    private JsonNode invoke(final String payload) throws Exception {
+        runtimeApi.invocations.put(payload);
+        final String response = runtimeApi.responses.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertThat(response).as("response from the native executable").isNotNull();
+        return mapper.readTree(response);
+    }
+
+    private static String payload(final String name) throws IOException {
+        try (InputStream in = NativeImageSmokeIT.class.getClassLoader().getResourceAsStream("coldstart/" + name + ".json")) {
+            return new String(readAll(in), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static byte[] readAll(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        for (int read; (read = in.read(buffer)) > 0; ) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * The parts of the Lambda Runtime API the runtime interface client uses: it long-polls for the
+     * next invocation and posts back a response, or an error that is recorded as the response.
+     */
+    private static final class RuntimeApi implements AutoCloseable {
+        private static final String PREFIX = "/2018-06-01/runtime/";
+
+        private final BlockingQueue<String> invocations = new LinkedBlockingQueue<>();
+        private final BlockingQueue<String> responses = new LinkedBlockingQueue<>();
+        private final ExecutorService executor = Executors.newCachedThreadPool();
+        private final HttpServer server;
+
+        private RuntimeApi() throws IOException {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            server.createContext(PREFIX, this::handle);
+            // the executable long-polls for its next invocation, so that request must not block the others
+            server.setExecutor(executor);
+            server.start();
+        }
+
+        String address() {
+            return "127.0.0.1:" + server.getAddress().getPort();
+        }
+
+        @Override
+        public void close() {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+
+        private void handle(final HttpExchange exchange) throws IOException {
+            final String path = exchange.getRequestURI().getPath().substring(PREFIX.length());
+            final String body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = new String(readAll(in), StandardCharsets.UTF_8);
+            }
+            if ("invocation/next".equals(path)) {
+                final String invocation;
+                try {
+                    invocation = invocations.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    exchange.sendResponseHeaders(500, -1);
+                    return;
+                }
+                exchange.getResponseHeaders().add("Lambda-Runtime-Aws-Request-Id", UUID.randomUUID().toString());
+                exchange.getResponseHeaders().add("Lambda-Runtime-Deadline-Ms",
+                        Long.toString(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(60)));
+                exchange.getResponseHeaders().add("Lambda-Runtime-Invoked-Function-Arn",
+                        "arn:aws:lambda:us-east-1:123456789012:function:carrier-gateway-smoke");
+                respond(exchange, 200, invocation);
+                return;
+            }
+            // invocation/<id>/response, invocation/<id>/error and init/error
+            responses.add(body);
+            respond(exchange, 202, "{}");
+        }
+
+        private static void respond(final HttpExchange exchange, final int status, final String body) throws IOException {
+            final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+}
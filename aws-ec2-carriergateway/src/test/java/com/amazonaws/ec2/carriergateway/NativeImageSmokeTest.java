@@ -0,0 +1,156 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs every handler against {@link FakeEc2} the way the native runtime sees them: models and
+ * callback contexts cross the plugin's {@link Serializer} between invocations, so any type that
+ * needs reflection to serialize must be listed in src/native/config/reflect-config.json.
+ *
+ * This runs on the JVM, so it only checks the handlers and the configuration files; the built
+ * executable itself is exercised by {@link NativeImageSmokeIT} in the native profile.
+ */
+public class NativeImageSmokeTest extends TestBase {
+    private static final Path REFLECT_CONFIG = Paths.get("src", "native", "config", "reflect-config.json");
+    private static final String V2_MODEL_PACKAGE = "software.amazon.awssdk.services.ec2.model.";
+    private static final int MAX_INVOCATIONS = 10;
+
+    private final long[] now = {0L};
+    private final Serializer serializer = new Serializer();
+
+    private FakeEc2 ec2;
+    private AmazonWebServicesClientProxy proxy;
+    private Logger logger;
+
+    @BeforeEach
+    public void setup() {
+        ec2 = new FakeEc2(() -> now[0], new Random(7))
+                .withPendingMillis(1_000L)
+                .withDeletingMillis(1_000L)
+                .withDeletedVisibleMillis(0L);
+        proxy = ec2.proxy();
+        logger = mock(Logger.class);
+    }
+
+    @Test
+    public void reflectConfig_RegistersSerializedModels() throws IOException {
+        final Set<String> registered = new HashSet<>();
+        for (final JsonNode entry : new ObjectMapper().readTree(REFLECT_CONFIG.toFile())) {
+            registered.add(entry.get("name").asText());
+        }
+
+        assertThat(registered).contains(
+                ResourceModel.class.getName(),
+                Tag.class.getName(),
+                CallbackContext.class.getName(),
+                "com.amazonaws.ec2.carriergateway.HandlerWrapper");
+    }
+
+    @Test
+    public void reflectConfig_RegistersSdkV2Path() throws IOException {
+        final Set<String> registered = new HashSet<>();
+        for (final JsonNode entry : new ObjectMapper().readTree(REFLECT_CONFIG.toFile())) {
+            registered.add(entry.get("name").asText());
+        }
+
+        for (final String operation : new String[] {"CreateCarrierGateway", "DescribeCarrierGateways", "DeleteCarrierGateway", "CreateTags", "DeleteTags"}) {
+            assertThat(registered).contains(
+                    V2_MODEL_PACKAGE + operation + "Request",
+                    V2_MODEL_PACKAGE + operation + "Request$BuilderImpl",
+                    V2_MODEL_PACKAGE + operation + "Response",
+                    V2_MODEL_PACKAGE + operation + "Response$BuilderImpl");
+        }
+        assertThat(registered).contains(
+                V2_MODEL_PACKAGE + "CarrierGateway",
+                V2_MODEL_PACKAGE + "Tag",
+                V2_MODEL_PACKAGE + "TagSpecification",
+                V2_MODEL_PACKAGE + "Filter");
+    }
+
+    @Test
+    public void handlers_ThroughSerializer_CompleteLifecycle() throws IOException {
+        final ResourceModel desired = ResourceModel.builder()
+                .vpcId(VPC_ID)
+                .tags(Collections.singleton(Tag.builder().key("Name").value("MyCagw").build()))
+                .build();
+
+        final ResourceModel created = run(new CreateHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER), desired, null).getResourceModel();
+        assertThat(created.getState()).isEqualTo(FakeEc2.AVAILABLE);
+
+        assertThat(run(new ReadHandler(NO_SLEEP_INVOKER), created, null).getResourceModel()).isEqualTo(created);
+
+        final ResourceModel updated = ResourceModel.builder()
+                .vpcId(VPC_ID)
+                .carrierGatewayId(created.getCarrierGatewayId())
+                .tags(Collections.singleton(Tag.builder().key("Stage").value("Prod").build()))
+                .build();
+        run(new UpdateHandler(NO_SLEEP_INVOKER), updated, created);
+
+        final ProgressEvent<ResourceModel, CallbackContext> listed = run(new ListHandler(NO_SLEEP_INVOKER), ResourceModel.builder().build(), null);
+        assertThat(listed.getResourceModels()).hasSize(1);
+        assertThat(listed.getResourceModels().get(0).getTags()).isEqualTo(updated.getTags());
+
+        run(new DeleteHandler(DEFAULT_DELAY, NO_INLINE_WAIT, NO_SLEEP_INVOKER), updated, null);
+        assertThat(ec2.gatewayIds()).isEmpty();
+    }
+
+    /**
+     * Invokes a handler until it leaves IN_PROGRESS, passing state between invocations as JSON.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> run(
+            final BaseHandler<CallbackContext> handler,
+            final ResourceModel desired,
+            final ResourceModel previous) throws IOException {
+
+        ResourceModel model = desired;
+        CallbackContext context = null;
+        for (int invocation = 0; invocation < MAX_INVOCATIONS; invocation++) {
+            final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                    .desiredResourceState(roundTrip(model, new TypeReference<ResourceModel>() { }))
+                    .previousResourceState(roundTrip(previous, new TypeReference<ResourceModel>() { }))
+                    .build();
+            final ProgressEvent<ResourceModel, CallbackContext> event = handler.handleRequest(proxy, request, context, logger);
+            assertThat(serializer.serialize(event)).isNotEmpty();
+            if (event.getStatus() != OperationStatus.IN_PROGRESS) {
+                assertThat(event.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+                return event;
+            }
+            context = roundTrip(event.getCallbackContext(), new TypeReference<CallbackContext>() { });
+            if (event.getResourceModel() != null) {
+                model = event.getResourceModel();
+            }
+            now[0] += event.getCallbackDelaySeconds() * 1_000L;
+        }
+        throw new AssertionError(handler.getClass().getSimpleName() + " did not finish in " + MAX_INVOCATIONS + " invocations");
+    }
+
+    private <T> T roundTrip(final T value, final TypeReference<T> type) throws IOException {
+        if (value == null) {
+            return null;
+        }
+        final T copy = serializer.deserialize(serializer.serialize(value), type);
+        assertThat(copy).isEqualTo(value);
+        return copy;
+    }
+}
@@ -0,0 +1,98 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysRequest;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OperationTrackerTest extends TestBase {
+
+    private final long[] now = {10_000L};
+    private final List<String> lines = new ArrayList<>();
+
+    @Test
+    public void finish_AcrossCallbacks_SummarisesWholeOperation() throws Exception {
+        final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+        when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
+                .thenReturn(new DescribeCarrierGatewaysResult());
+
+        final OperationTracker first = new OperationTracker("Create", null, () -> now[0]);
+        Ec2Invoker.getInstance().invoke(proxy, new DescribeCarrierGatewaysRequest(), null);
+        first.observe(model("pending"));
+        now[0] += 1_500L;
+        final CallbackContext context = first.contextBuilder().createStarted(true).build();
+        first.finish(inProgress(context), CAGW_ID, lines::add);
+        assertThat(lines).isEmpty();
+
+        // the callback arrives later; that wait is still time spent pending
+        now[0] += 5_000L;
+        final OperationTracker second = new OperationTracker("Create", context, () -> now[0]);
+        Ec2Invoker.getInstance().invoke(proxy, new DescribeCarrierGatewaysRequest(), null);
+        second.observe(model("available"));
+        now[0] += 100L;
+        second.finish(ProgressEvent.<ResourceModel, CallbackContext>builder().status(OperationStatus.SUCCESS).build(), CAGW_ID, lines::add);
+
+        assertThat(lines).hasSize(1);
+        final JsonNode summary = new ObjectMapper().readTree(lines.get(0));
+        assertThat(summary.get("Handler").asText()).isEqualTo("Create");
+        assertThat(summary.get("Status").asText()).isEqualTo("SUCCESS");
+        assertThat(summary.get("CarrierGatewayId").asText()).isEqualTo(CAGW_ID);
+        assertThat(summary.get("WallTime").asLong()).isEqualTo(6_600L);
+        assertThat(summary.get("Callbacks").asInt()).isEqualTo(1);
+        assertThat(summary.get("ApiCalls").asInt()).isEqualTo(2);
+        assertThat(summary.get("PendingTime").asLong()).isEqualTo(6_500L);
+        assertThat(summary.get("DeletingTime").asLong()).isEqualTo(0L);
+    }
+
+    @Test
+    public void finish_HandlerThrew_ReportedAsFailed() throws Exception {
+        final OperationTracker tracker = new OperationTracker("Delete", null, () -> now[0]);
+        tracker.observe(model("deleting"));
+        now[0] += 250L;
+
+        tracker.finish(null, CAGW_ID, lines::add);
+
+        final JsonNode summary = new ObjectMapper().readTree(lines.get(0));
+        assertThat(summary.get("Status").asText()).isEqualTo("FAILED");
+        assertThat(summary.get("DeletingTime").asLong()).isEqualTo(250L);
+        assertThat(summary.get("Callbacks").asInt()).isEqualTo(0);
+    }
+
+    @Test
+    public void observe_GatewayNotVisibleYet_KeepsLastState() {
+        final OperationTracker tracker = new OperationTracker("Create", null, () -> now[0]);
+        tracker.observe(model("pending"));
+        now[0] += 1_000L;
+
+        assertThat(tracker.observe(null)).isNull();
+        now[0] += 1_000L;
+
+        final CallbackContext context = tracker.contextBuilder().build();
+        assertThat(context.getPendingMillis()).isEqualTo(2_000L);
+        assertThat(context.getLastObservedState()).isEqualTo("pending");
+        assertThat(context.getOperationStartedAt()).isEqualTo(10_000L);
+    }
+
+    private ResourceModel model(final String state) {
+        return ResourceModel.builder().carrierGatewayId(CAGW_ID).state(state).build();
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> inProgress(final CallbackContext context) {
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .callbackContext(context)
+                .status(OperationStatus.IN_PROGRESS)
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.amazonaws.ec2.carriergateway;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrimingTest {
+
+    @Test
+    public void prime_SecondCall_DoesNothing() {
+        Priming.prime();
+
+        assertThat(Priming.prime()).isFalse();
+    }
+
+    @Test
+    public void primeSteps_CompleteWithoutErrors() {
+        // each step swallows failures when run through prime(), so run them directly here
+        Priming.primeClient();
+        Priming.primeTranslation();
+        Priming.primeSerialization();
+        Priming.primeInstrumentation();
+    }
+}
@@ -3,6 +3,7 @@ package com.amazonaws.ec2.carriergateway;
 import java.util.Collections;
 
 import com.amazonaws.services.ec2.model.AmazonEC2Exception;
+import com.amazonaws.services.ec2.model.CarrierGateway;
 import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysResult;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
@@ -20,8 +21,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import static com.amazonaws.ec2.carriergateway.Translator.createModelFromCarrierGateway;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,7 +54,7 @@ public class ReadHandlerTest extends TestBase {
 
     @Test
     public void handleRequest_SimpleSuccess() {
-        final ReadHandler handler = new ReadHandler();
+        final ReadHandler handler = new ReadHandler(NO_SLEEP_INVOKER);
 
         final DescribeCarrierGatewaysResult resultWithToken = new DescribeCarrierGatewaysResult()
                 .withCarrierGateways(Collections.emptyList())
@@ -74,11 +78,12 @@ public class ReadHandlerTest extends TestBase {
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+        verify(logger).log(contains("\"Operation\":\"DescribeCarrierGateways\""));
     }
 
     @Test
     public void handleRequest_EmptyResults_Fails() {
-        final ReadHandler handler = new ReadHandler();
+        final ReadHandler handler = new ReadHandler(NO_SLEEP_INVOKER);
 
         final DescribeCarrierGatewaysResult response = new DescribeCarrierGatewaysResult()
                 .withCarrierGateways(Collections.emptyList());
@@ -94,7 +99,7 @@ public class ReadHandlerTest extends TestBase {
         final AmazonEC2Exception notFoundException = new AmazonEC2Exception("");
         notFoundException.setErrorCode("InvalidCarrierGatewayID.NotFound");
 
-        final ReadHandler handler = new ReadHandler();
+        final ReadHandler handler = new ReadHandler(NO_SLEEP_INVOKER);
 
         final DescribeCarrierGatewaysResult response = new DescribeCarrierGatewaysResult()
                 .withCarrierGateways(Collections.emptyList());
@@ -107,7 +112,7 @@ public class ReadHandlerTest extends TestBase {
 
     @Test
     public void handleRequest_MultipleCagws_Fails() {
-        final ReadHandler handler = new ReadHandler();
+        final ReadHandler handler = new ReadHandler(NO_SLEEP_INVOKER);
 
         final DescribeCarrierGatewaysResult response = new DescribeCarrierGatewaysResult()
                 .withCarrierGateways(TEST_CAGW, TEST_CAGW);
@@ -117,4 +122,35 @@ public class ReadHandlerTest extends TestBase {
 
         assertThrows(CfnGeneralServiceException.class, () -> handler.handleRequest(proxy, request, null, logger));
     }
+
+    @Test
+    public void handleRequest_RepeatedRead_SeesCurrentState() {
+        final ReadHandler handler = new ReadHandler(NO_SLEEP_INVOKER);
+
+        when(proxy.injectCredentialsAndInvoke(any(), any()))
+                .thenReturn(new DescribeCarrierGatewaysResult().withCarrierGateways(PENDING_CAGW))
+                .thenReturn(new DescribeCarrierGatewaysResult().withCarrierGateways(TEST_CAGW));
+
+        handler.handleRequest(proxy, request, null, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        verify(proxy, times(2)).injectCredentialsAndInvoke(any(), any());
+        assertThat(response.getResourceModel()).isEqualTo(createModelFromCarrierGateway(TEST_CAGW));
+    }
+
+    @Test
+    public void handleRequest_DeletedCagw_NotFoundOnEveryRead() {
+        final ReadHandler handler = new ReadHandler(NO_SLEEP_INVOKER);
+
+        when(proxy.injectCredentialsAndInvoke(any(), any()))
+                .thenReturn(new DescribeCarrierGatewaysResult().withCarrierGateways(
+                        new CarrierGateway().withCarrierGatewayId(CAGW_ID).withVpcId(VPC_ID).withState("deleted")));
+
+        assertThrows(CfnNotFoundException.class, () -> handler.handleRequest(proxy, request, null, logger));
+        assertThrows(CfnNotFoundException.class, () -> handler.handleRequest(proxy, request, null, logger));
+
+        // a deleted gateway is not remembered, so each read asks EC2 again
+        verify(proxy, times(2)).injectCredentialsAndInvoke(any(), any());
+    }
 }
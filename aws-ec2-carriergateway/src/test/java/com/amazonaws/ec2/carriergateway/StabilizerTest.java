@@ -0,0 +1,107 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.services.ec2.model.AmazonEC2Exception;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StabilizerTest extends TestBase {
+
+    private final DelayStrategy delay = attempt -> 7 + attempt;
+    private final Stabilizer stabilizer = new Stabilizer(delay, NO_INLINE_WAIT);
+    private final ResourceModel model = ResourceModel.builder().carrierGatewayId(CAGW_ID).vpcId(VPC_ID).build();
+
+    @Test
+    public void stabilize_Stable_Succeeds() {
+        final ResourceModel available = ResourceModel.builder().carrierGatewayId(CAGW_ID).state("available").build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> event = stabilizer.stabilize(
+                model, 0, () -> available, m -> "available".equals(m.getState()),
+                context -> context.createStarted(true), tracker(), stabilizer.startInvocation());
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(event.getResourceModel()).isEqualTo(available);
+        assertThat(event.getCallbackContext()).isNull();
+    }
+
+    @Test
+    public void stabilize_NotStable_SchedulesCallback() {
+        final ProgressEvent<ResourceModel, CallbackContext> event = stabilizer.stabilize(
+                model, 2, () -> null, Objects::nonNull,
+                context -> context.deleteStarted(true), tracker(), stabilizer.startInvocation());
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(event.getResourceModel()).isEqualTo(model);
+        assertThat(event.getCallbackDelaySeconds()).isEqualTo(9);
+        assertThat(event.getCallbackContext().isDeleteStarted()).isTrue();
+        assertThat(event.getCallbackContext().getStabilizationAttempts()).isEqualTo(3);
+    }
+
+    @Test
+    public void stabilize_StateWithOwnDelay_UsesStateDelay() {
+        final ResourceModel deleting = ResourceModel.builder().carrierGatewayId(CAGW_ID).state("deleting").build();
+        final Stabilizer stateAware = new Stabilizer(delay.withStateDelay("deleting", attempt -> 20 + attempt), NO_INLINE_WAIT);
+
+        final ProgressEvent<ResourceModel, CallbackContext> event = stateAware.stabilize(
+                model, 1, () -> deleting, Objects::isNull,
+                context -> context.deleteStarted(true), tracker(), stabilizer.startInvocation());
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(event.getResourceModel()).isEqualTo(deleting);
+        assertThat(event.getCallbackDelaySeconds()).isEqualTo(21);
+    }
+
+    @Test
+    public void stabilize_PollRejected_Fails() {
+        final AmazonEC2Exception unauthorized = new AmazonEC2Exception("not authorized");
+        unauthorized.setErrorCode("UnauthorizedOperation");
+
+        final ProgressEvent<ResourceModel, CallbackContext> event = stabilizer.stabilize(
+                model, 0, () -> { throw unauthorized; }, Objects::nonNull,
+                context -> context.createStarted(true), tracker(), stabilizer.startInvocation());
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(event.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
+        assertThat(event.getResourceModel()).isEqualTo(model);
+    }
+
+    @Test
+    public void stabilize_InvocationNearlyOver_SchedulesCallbackWithoutPolling() {
+        final long[] now = {50_000L};
+        final Stabilizer late = new Stabilizer(attempt -> 7 + attempt,
+                new InlineWaiter(20_000L, 1_000L, () -> now[0], millis -> now[0] += millis));
+
+        final ProgressEvent<ResourceModel, CallbackContext> event = late.stabilize(
+                model, 0, () -> { throw new AssertionError("polled"); }, Objects::isNull,
+                context -> context.deleteStarted(true), tracker(), 0L);
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(event.getResourceModel()).isEqualTo(model);
+        assertThat(event.getCallbackDelaySeconds()).isEqualTo(7);
+    }
+
+    @Test
+    public void stabilize_InlineBudgetCappedByInvocationTime() {
+        final long[] now = {40_000L};
+        final int[] polls = {0};
+        final Stabilizer capped = new Stabilizer(attempt -> 7 + attempt,
+                new InlineWaiter(20_000L, 1_000L, () -> now[0], millis -> now[0] += millis));
+
+        final ProgressEvent<ResourceModel, CallbackContext> event = capped.stabilize(
+                model, 0, () -> { polls[0]++; return model; }, Objects::isNull,
+                context -> context.deleteStarted(true), tracker(), 0L);
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(now[0]).isLessThan(60_000L - 15_000L);
+        assertThat(polls[0]).isEqualTo(5);
+    }
+
+    private static OperationTracker tracker() {
+        return OperationTracker.resume("Test", null);
+    }
+}
@@ -0,0 +1,59 @@
+package com.amazonaws.ec2.carriergateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TagDiffTest {
+
+    @Test
+    public void between_SameTags_IsEmpty() {
+        final TagDiff diff = TagDiff.between(tags(tag("Name", "MyCagw")), tags(tag("Name", "MyCagw")));
+
+        assertThat(diff.isEmpty()).isTrue();
+        assertThat(diff.getTagsToCreate()).isEmpty();
+        assertThat(diff.getTagsToDelete()).isEmpty();
+    }
+
+    @Test
+    public void between_ValueChanged_UpsertOnly() {
+        final TagDiff diff = TagDiff.between(
+                tags(tag("Name", "MyCagw"), tag("Stage", "Prod")),
+                tags(tag("Name", "MyCagw"), tag("Stage", "Test")));
+
+        assertThat(diff.getTagsToCreate()).containsExactly(tag("Stage", "Test"));
+        assertThat(diff.getTagsToDelete()).isEmpty();
+    }
+
+    @Test
+    public void between_KeyAddedAndRemoved_UpsertAndKeyOnlyRemoval() {
+        final TagDiff diff = TagDiff.between(
+                tags(tag("Name", "MyCagw"), tag("Stage", "Prod")),
+                tags(tag("Stage", "Prod"), tag("NewKey", "NewValue")));
+
+        assertThat(diff.getTagsToCreate()).containsExactly(tag("NewKey", "NewValue"));
+        assertThat(diff.getTagsToDelete()).containsExactly(Tag.builder().key("Name").build());
+    }
+
+    @Test
+    public void between_NullTags_TreatedAsEmpty() {
+        assertThat(TagDiff.between(null, null).isEmpty()).isTrue();
+        assertThat(TagDiff.between(null, tags(tag("Name", "MyCagw"))).getTagsToCreate())
+                .containsExactly(tag("Name", "MyCagw"));
+        assertThat(TagDiff.between(tags(tag("Name", "MyCagw")), Collections.emptySet()).getTagsToDelete())
+                .containsExactly(Tag.builder().key("Name").build());
+    }
+
+    private static Tag tag(final String key, final String value) {
+        return Tag.builder().key(key).value(value).build();
+    }
+
+    private static Set<Tag> tags(final Tag... tags) {
+        return new HashSet<>(Arrays.asList(tags));
+    }
+}
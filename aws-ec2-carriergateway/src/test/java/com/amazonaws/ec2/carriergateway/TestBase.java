@@ -3,10 +3,27 @@ package com.amazonaws.ec2.carriergateway;
 
 import com.amazonaws.services.ec2.model.CarrierGateway;
 import com.amazonaws.services.ec2.model.Tag;
+import org.junit.jupiter.api.BeforeEach;
 
 import java.util.Collections;
 
+import static com.amazonaws.ec2.carriergateway.Constants.EC2_MAX_ATTEMPTS;
+import static com.amazonaws.ec2.carriergateway.Constants.EC2_RATE_LIMIT_BURST;
+import static com.amazonaws.ec2.carriergateway.Constants.EC2_RATE_LIMIT_PER_SECOND;
+import static com.amazonaws.ec2.carriergateway.Constants.EC2_RETRY_BASE_DELAY_MILLIS;
+import static com.amazonaws.ec2.carriergateway.Constants.EC2_RETRY_MAX_DELAY_MILLIS;
+import static com.amazonaws.ec2.carriergateway.Constants.INITIAL_POLLING_DELAY_SECONDS;
+import static com.amazonaws.ec2.carriergateway.Constants.MAX_POLLING_DELAY_SECONDS;
+
 public class TestBase {
+    final DelayStrategy DEFAULT_DELAY = new ExponentialBackoffStrategy(INITIAL_POLLING_DELAY_SECONDS, MAX_POLLING_DELAY_SECONDS);
+    final InlineWaiter NO_INLINE_WAIT = new InlineWaiter(0, 0);
+    // Retries like the shared invoker, but neither backs off nor waits for rate limit tokens in real time
+    final Ec2Invoker NO_SLEEP_INVOKER = new Ec2Invoker(EC2_MAX_ATTEMPTS, EC2_RETRY_BASE_DELAY_MILLIS, EC2_RETRY_MAX_DELAY_MILLIS,
+            new TokenBucket(EC2_RATE_LIMIT_BURST, EC2_RATE_LIMIT_PER_SECOND, () -> 0L), millis -> { }, Ec2Metrics.getInstance());
+    // Timing kept by OperationTracker, which depends on the wall clock
+    final String[] TRACKING_FIELDS = {"operationStartedAt", "callbackCount", "apiCallCount", "lastObservedState", "lastObservedAt", "pendingMillis", "deletingMillis"};
+
     final String CAGW_ID = "cagw-12345678912345678";
     final String VPC_ID = "vpc-12345678912345678";
     final String OWNER_ID = "123456789012";
@@ -31,4 +48,10 @@ public class TestBase {
             .withOwnerId(OWNER_ID)
             .withState("pending")
             .withTags(Collections.emptyList());
-}
\ No newline at end of file
+
+    @BeforeEach
+    public void clearMetrics() {
+        // drop metrics left over from other tests
+        Ec2Metrics.getInstance().flush(null);
+    }
+}
@@ -0,0 +1,65 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.retry.PredefinedRetryPolicies;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TransportSettingsTest {
+
+    @Test
+    public void toClientConfiguration_Unset_UsesDefaults() {
+        final ClientConfiguration configuration = TransportSettings.fromEnvironment(name -> null).toClientConfiguration();
+
+        assertThat(configuration.getConnectionTimeout()).isEqualTo(Constants.EC2_CONNECT_TIMEOUT_MILLIS);
+        assertThat(configuration.getSocketTimeout()).isEqualTo(Constants.EC2_SOCKET_TIMEOUT_MILLIS);
+        assertThat(configuration.getRequestTimeout()).isEqualTo(Constants.EC2_REQUEST_TIMEOUT_MILLIS);
+        assertThat(configuration.useTcpKeepAlive()).isTrue();
+        assertThat(configuration.getConnectionTTL()).isEqualTo(Constants.EC2_CONNECTION_TTL_MILLIS);
+        assertThat(configuration.getConnectionMaxIdleMillis()).isEqualTo(Constants.EC2_CONNECTION_MAX_IDLE_MILLIS);
+        assertThat(configuration.useReaper()).isTrue();
+        assertThat(configuration.getDnsResolver()).isNotInstanceOf(CachingDnsResolver.class);
+        assertThat(configuration.getRetryPolicy()).isSameAs(PredefinedRetryPolicies.NO_RETRY_POLICY);
+        assertThat(configuration.getMaxErrorRetry()).isEqualTo(0);
+    }
+
+    @Test
+    public void toClientConfiguration_Overridden_UsesEnvironment() {
+        final Map<String, String> environment = new HashMap<>();
+        environment.put(TransportSettings.CONNECT_TIMEOUT_ENV, "500");
+        environment.put(TransportSettings.SOCKET_TIMEOUT_ENV, " 1500 ");
+        environment.put(TransportSettings.REQUEST_TIMEOUT_ENV, "3000");
+        environment.put(TransportSettings.CONNECTION_TTL_ENV, "10000");
+        environment.put(TransportSettings.CONNECTION_MAX_IDLE_ENV, "4000");
+        environment.put(TransportSettings.TCP_KEEP_ALIVE_ENV, "false");
+        environment.put(TransportSettings.DNS_CACHE_ENV, "30000");
+
+        final ClientConfiguration configuration = TransportSettings.fromEnvironment(environment::get).toClientConfiguration();
+
+        assertThat(configuration.getConnectionTimeout()).isEqualTo(500);
+        assertThat(configuration.getSocketTimeout()).isEqualTo(1500);
+        assertThat(configuration.getRequestTimeout()).isEqualTo(3000);
+        assertThat(configuration.getConnectionTTL()).isEqualTo(10000L);
+        assertThat(configuration.getConnectionMaxIdleMillis()).isEqualTo(4000L);
+        assertThat(configuration.useTcpKeepAlive()).isFalse();
+        assertThat(configuration.getDnsResolver()).isInstanceOf(CachingDnsResolver.class);
+    }
+
+    @Test
+    public void fromEnvironment_InvalidValues_UseDefaults() {
+        final Map<String, String> environment = new HashMap<>();
+        environment.put(TransportSettings.CONNECT_TIMEOUT_ENV, "fast");
+        environment.put(TransportSettings.SOCKET_TIMEOUT_ENV, "-1");
+        environment.put(TransportSettings.REQUEST_TIMEOUT_ENV, "99999999999");
+
+        final TransportSettings settings = TransportSettings.fromEnvironment(environment::get);
+
+        assertThat(settings.getConnectTimeoutMillis()).isEqualTo(Constants.EC2_CONNECT_TIMEOUT_MILLIS);
+        assertThat(settings.getSocketTimeoutMillis()).isEqualTo(Constants.EC2_SOCKET_TIMEOUT_MILLIS);
+        assertThat(settings.getRequestTimeoutMillis()).isEqualTo(Constants.EC2_REQUEST_TIMEOUT_MILLIS);
+    }
+}
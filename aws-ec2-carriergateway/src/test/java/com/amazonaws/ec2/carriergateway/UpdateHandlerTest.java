@@ -9,6 +9,7 @@ import com.amazonaws.services.ec2.model.CreateTagsRequest;
 import com.amazonaws.services.ec2.model.DeleteTagsRequest;
 import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysRequest;
 import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysResult;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
@@ -22,10 +23,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static com.amazonaws.ec2.carriergateway.Constants.INITIAL_POLLING_DELAY_SECONDS;
 import static com.amazonaws.ec2.carriergateway.Translator.createModelFromCarrierGateway;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.any;
 
 import static org.mockito.Mockito.verify;
@@ -58,7 +61,7 @@ public class UpdateHandlerTest extends TestBase {
                 .desiredResourceState(createModelFromCarrierGateway(TEST_CAGW))
                 .build();
 
-        final UpdateHandler handler = new UpdateHandler();
+        final UpdateHandler handler = new UpdateHandler(NO_SLEEP_INVOKER);
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
 
@@ -89,7 +92,7 @@ public class UpdateHandlerTest extends TestBase {
                 .desiredResourceState(model)
                 .build();
 
-        final UpdateHandler handler = new UpdateHandler();
+        final UpdateHandler handler = new UpdateHandler(NO_SLEEP_INVOKER);
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
 
@@ -119,7 +122,7 @@ public class UpdateHandlerTest extends TestBase {
                 .desiredResourceState(desiredModel)
                 .build();
 
-        final UpdateHandler handler = new UpdateHandler();
+        final UpdateHandler handler = new UpdateHandler(NO_SLEEP_INVOKER);
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
 
@@ -147,7 +150,7 @@ public class UpdateHandlerTest extends TestBase {
                 .desiredResourceState(desiredModel)
                 .build();
 
-        final UpdateHandler handler = new UpdateHandler();
+        final UpdateHandler handler = new UpdateHandler(NO_SLEEP_INVOKER);
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
 
@@ -162,56 +165,127 @@ public class UpdateHandlerTest extends TestBase {
     }
 
     @Test
-    public void handleRequest_TagUpdateNotStarted_InProgress() {
+    public void handleRequest_TagUpdateNotStarted_AppliedInOneInvocation() {
         final DescribeCarrierGatewaysResult describeResult = new DescribeCarrierGatewaysResult()
                 .withCarrierGateways(TEST_CAGW_WITH_TAGS);
         Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
                 .thenReturn(describeResult);
 
-        final Set<Tag> newTags = new HashSet<>();
-        newTags.add(Tag.builder().key("Name").value("MyCagw").build());
-        newTags.add(Tag.builder().key("Stage").value("Test").build());
-        newTags.add(Tag.builder().key("NewKey").value("NewValue").build());
-
         final ResourceModel model = ResourceModel
                 .builder()
                 .vpcId(VPC_ID)
                 .carrierGatewayId(CAGW_ID)
-                .tags(newTags)
+                .tags(newTagsReplacingStage())
                 .build();
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .previousResourceState(createModelFromCarrierGateway(TEST_CAGW))
                 .desiredResourceState(model)
                 .build();
 
-        final UpdateHandler handler = new UpdateHandler();
+        final UpdateHandler handler = new UpdateHandler(NO_SLEEP_INVOKER);
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
 
-        final Set<Tag> expectedTagsToCreate = new HashSet<>();
-        expectedTagsToCreate.add(Tag.builder().key("Stage").value("Test").build());
-        expectedTagsToCreate.add(Tag.builder().key("NewKey").value("NewValue").build());
-        final Set<Tag> expectedTagsToDelete = new HashSet<>();
-        expectedTagsToDelete.add(Tag.builder().key("Stage").value("Prod").build());
+        // CreateTags is built from a set, so only the contents of the tag list are deterministic
+        final ArgumentCaptor<CreateTagsRequest> createCaptor = ArgumentCaptor.forClass(CreateTagsRequest.class);
+        verify(proxy).injectCredentialsAndInvoke(createCaptor.capture(), any());
+        assertThat(createCaptor.getValue().getResources()).containsExactly(CAGW_ID);
+        assertThat(createCaptor.getValue().getTags()).containsExactlyInAnyOrder(
+                new com.amazonaws.services.ec2.model.Tag().withKey("Stage").withValue("Test"),
+                new com.amazonaws.services.ec2.model.Tag().withKey("NewKey").withValue("NewValue"));
+        // CreateTags already overwrote the value of Stage, so there is nothing left to delete
+        verify(proxy, never())
+                .injectCredentialsAndInvoke(any(DeleteTagsRequest.class), any());
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getResourceModel()).isEqualTo(model);
+        assertThat(response.getResourceModels()).isNull();
+        assertThat(response.getMessage()).isNull();
+        assertThat(response.getErrorCode()).isNull();
+    }
 
+    @Test
+    public void handleRequest_ErrorWhileDeletingTags_ResumesWithRemainingDeletes() {
+        final DescribeCarrierGatewaysResult describeResult = new DescribeCarrierGatewaysResult()
+                .withCarrierGateways(TEST_CAGW_WITH_TAGS);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
+                .thenReturn(describeResult);
+
+        final AmazonEC2Exception unavailableException = new AmazonEC2Exception("Service unavailable");
+        unavailableException.setErrorCode("ServiceUnavailable");
+        when(proxy.injectCredentialsAndInvoke(any(DeleteTagsRequest.class), any())).thenThrow(unavailableException);
+
+        final ResourceModel model = ResourceModel
+                .builder()
+                .vpcId(VPC_ID)
+                .carrierGatewayId(CAGW_ID)
+                .tags(Collections.singleton(Tag.builder().key("Stage").value("Test").build()))
+                .build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(createModelFromCarrierGateway(TEST_CAGW))
+                .desiredResourceState(model)
+                .build();
 
+        final UpdateHandler handler = new UpdateHandler(NO_SLEEP_INVOKER);
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        final Set<Tag> expectedTagsToDelete = new HashSet<>();
+        expectedTagsToDelete.add(Tag.builder().key("Name").build());
         final CallbackContext expectedContext = CallbackContext
                 .builder()
                 .updateStarted(true)
-                .tagsToCreate(expectedTagsToCreate)
+                .tagsToCreate(Collections.emptySet())
                 .tagsToDelete(expectedTagsToDelete)
                 .build();
 
+        verify(proxy).injectCredentialsAndInvoke(any(CreateTagsRequest.class), any());
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackContext()).isEqualTo(expectedContext);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getCallbackContext()).isEqualToIgnoringGivenFields(expectedContext, TRACKING_FIELDS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(INITIAL_POLLING_DELAY_SECONDS);
         assertThat(response.getResourceModel()).isEqualTo(model);
         assertThat(response.getResourceModels()).isNull();
-        assertThat(response.getMessage()).isNull();
+        assertThat(response.getMessage()).isEqualTo(unavailableException.getMessage());
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_NonRetryableErrorWhileDeletingTags_Fails() {
+        final DescribeCarrierGatewaysResult describeResult = new DescribeCarrierGatewaysResult()
+                .withCarrierGateways(TEST_CAGW_WITH_TAGS);
+        Mockito.lenient().when(proxy.injectCredentialsAndInvoke(any(DescribeCarrierGatewaysRequest.class), any()))
+                .thenReturn(describeResult);
+
+        final AmazonEC2Exception unauthorizedException = new AmazonEC2Exception("Not authorized");
+        unauthorizedException.setErrorCode("UnauthorizedOperation");
+        when(proxy.injectCredentialsAndInvoke(any(DeleteTagsRequest.class), any())).thenThrow(unauthorizedException);
+
+        final ResourceModel model = ResourceModel
+                .builder()
+                .vpcId(VPC_ID)
+                .carrierGatewayId(CAGW_ID)
+                .tags(Collections.singleton(Tag.builder().key("Stage").value("Test").build()))
+                .build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(createModelFromCarrierGateway(TEST_CAGW))
+                .desiredResourceState(model)
+                .build();
+
+        final UpdateHandler handler = new UpdateHandler(NO_SLEEP_INVOKER);
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        verify(proxy).injectCredentialsAndInvoke(any(CreateTagsRequest.class), any());
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
+        assertThat(response.getMessage()).isNotNull();
+    }
+
     @Test
     public void handleRequest_UpdateStarted_Success() {
         final Set<Tag> newTags = new HashSet<>();
@@ -235,7 +309,7 @@ public class UpdateHandlerTest extends TestBase {
                 .desiredResourceState(model)
                 .build();
 
-        final UpdateHandler handler = new UpdateHandler();
+        final UpdateHandler handler = new UpdateHandler(NO_SLEEP_INVOKER);
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, callbackContext, logger);
 
@@ -282,7 +356,7 @@ public class UpdateHandlerTest extends TestBase {
                 .desiredResourceState(model)
                 .build();
 
-        final UpdateHandler handler = new UpdateHandler();
+        final UpdateHandler handler = new UpdateHandler(NO_SLEEP_INVOKER);
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, callbackContext, logger);
 
@@ -323,7 +397,7 @@ public class UpdateHandlerTest extends TestBase {
                 .desiredResourceState(model)
                 .build();
 
-        final UpdateHandler handler = new UpdateHandler();
+        final UpdateHandler handler = new UpdateHandler(NO_SLEEP_INVOKER);
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, callbackContext, logger);
 
@@ -370,7 +444,7 @@ public class UpdateHandlerTest extends TestBase {
 
         when(proxy.injectCredentialsAndInvoke(any(CreateTagsRequest.class), any())).thenThrow(unauthorizedException);
 
-        final UpdateHandler handler = new UpdateHandler();
+        final UpdateHandler handler = new UpdateHandler(NO_SLEEP_INVOKER);
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, callbackContext, logger);
 
@@ -383,4 +457,12 @@ public class UpdateHandlerTest extends TestBase {
         assertThat(response.getMessage()).isNotNull();
         assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
     }
+
+    private static Set<Tag> newTagsReplacingStage() {
+        final Set<Tag> newTags = new HashSet<>();
+        newTags.add(Tag.builder().key("Name").value("MyCagw").build());
+        newTags.add(Tag.builder().key("Stage").value("Test").build());
+        newTags.add(Tag.builder().key("NewKey").value("NewValue").build());
+        return newTags;
+    }
 }
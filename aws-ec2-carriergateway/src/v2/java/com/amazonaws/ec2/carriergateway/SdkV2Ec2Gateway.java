@@ -0,0 +1,278 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.AmazonWebServiceResult;
+import com.amazonaws.ResponseMetadata;
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.auth.AWSSessionCredentials;
+import com.amazonaws.services.ec2.model.AmazonEC2Exception;
+import com.amazonaws.services.ec2.model.CarrierGateway;
+import com.amazonaws.services.ec2.model.CreateCarrierGatewayRequest;
+import com.amazonaws.services.ec2.model.CreateCarrierGatewayResult;
+import com.amazonaws.services.ec2.model.CreateTagsRequest;
+import com.amazonaws.services.ec2.model.CreateTagsResult;
+import com.amazonaws.services.ec2.model.DeleteCarrierGatewayRequest;
+import com.amazonaws.services.ec2.model.DeleteCarrierGatewayResult;
+import com.amazonaws.services.ec2.model.DeleteTagsRequest;
+import com.amazonaws.services.ec2.model.DeleteTagsResult;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysRequest;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysResult;
+import com.amazonaws.services.ec2.model.Filter;
+import com.amazonaws.services.ec2.model.Tag;
+import com.amazonaws.services.ec2.model.TagSpecification;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.services.ec2.Ec2Client;
+import software.amazon.awssdk.services.ec2.Ec2ClientBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * {@link Ec2Gateway} on the modular SDK v2 {@link Ec2Client} with the URL connection HTTP client.
+ * It loads far fewer classes on first use than the v1 client and leaves Apache HTTP out of the
+ * call path.
+ *
+ * This class and the SDK v2 EC2 modules are only part of a build with the sdk-v2 profile, so the
+ * default artifact carries just the v1 client. ClientBuilder looks it up by name and calls
+ * {@link #create} when CARRIER_GATEWAY_EC2_CLIENT is v2.
+ *
+ * The v1 model stays: the handlers, Translator and {@link Ec2Invoker} work on it, and the plugin's
+ * injectCredentialsAndInvoke takes v1 requests. Only the client, its marshallers and the HTTP stack
+ * are replaced, which is where the first-call class loading goes; the sdk-v2 jar carries both SDKs.
+ *
+ * Requests and results are converted to and from the v1 model at the edge. The credentials the
+ * proxy sets on the v1 request are carried over as a per-request override, and v2 service errors
+ * are rethrown as {@link AmazonEC2Exception} with the same code, status and request ID, so retries
+ * and error mapping behave exactly as they do with the v1 client. Any other v2 failure becomes a v1
+ * SdkClientException that is retryable only if the call never got an answer from EC2.
+ */
+final class SdkV2Ec2Gateway implements Ec2Gateway {
+    private final Ec2Client client;
+
+    SdkV2Ec2Gateway(final Ec2Client client) {
+        this.client = client;
+    }
+
+    /**
+     * The HTTP client is set explicitly, so the SDK does not scan the classpath for one and the
+     * Apache client is never loaded. The URL connection client takes only the timeouts; keep-alive
+     * and address caching are left to the JVM's own settings.
+     *
+     * @param endpoint an absolute URI to call instead of the regional endpoint, or null
+     */
+    static Ec2Gateway create(final String endpoint, final TransportSettings transport) {
+        return new SdkV2Ec2Gateway(buildClient(endpoint, transport));
+    }
+
+    static Ec2Client buildClient(final String endpoint, final TransportSettings transport) {
+        final Ec2ClientBuilder builder = Ec2Client.builder()
+                .httpClient(UrlConnectionHttpClient.builder()
+                        .connectionTimeout(Duration.ofMillis(transport.getConnectTimeoutMillis()))
+                        .socketTimeout(Duration.ofMillis(transport.getSocketTimeoutMillis()))
+                        .build());
+        // Ec2Invoker retries every call, so the SDK's own retries are turned off
+        final ClientOverrideConfiguration.Builder overrides = ClientOverrideConfiguration.builder()
+                .retryPolicy(RetryPolicy.none());
+        if (transport.getRequestTimeoutMillis() > 0) {
+            overrides.apiCallAttemptTimeout(Duration.ofMillis(transport.getRequestTimeoutMillis()));
+        }
+        builder.overrideConfiguration(overrides.build());
+        if (endpoint != null && !endpoint.trim().isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint.trim()));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public CreateCarrierGatewayResult createCarrierGateway(final CreateCarrierGatewayRequest request) {
+        final software.amazon.awssdk.services.ec2.model.CreateCarrierGatewayResponse response = call(() -> client.createCarrierGateway(
+                software.amazon.awssdk.services.ec2.model.CreateCarrierGatewayRequest.builder()
+                        .overrideConfiguration(overrideFor(request))
+                        .vpcId(request.getVpcId())
+                        .clientToken(request.getClientToken())
+                        .tagSpecifications(toV2TagSpecifications(request.getTagSpecifications()))
+                        .build()));
+        return withMetadata(new CreateCarrierGatewayResult().withCarrierGateway(toV1(response.carrierGateway())), response);
+    }
+
+    @Override
+    public DescribeCarrierGatewaysResult describeCarrierGateways(final DescribeCarrierGatewaysRequest request) {
+        final software.amazon.awssdk.services.ec2.model.DescribeCarrierGatewaysResponse response = call(() -> client.describeCarrierGateways(
+                software.amazon.awssdk.services.ec2.model.DescribeCarrierGatewaysRequest.builder()
+                        .overrideConfiguration(overrideFor(request))
+                        .carrierGatewayIds(orEmpty(request.getCarrierGatewayIds()))
+                        .filters(toV2Filters(request.getFilters()))
+                        .maxResults(request.getMaxResults())
+                        .nextToken(request.getNextToken())
+                        .build()));
+        return withMetadata(new DescribeCarrierGatewaysResult()
+                .withCarrierGateways(response.carrierGateways().stream().map(SdkV2Ec2Gateway::toV1).collect(Collectors.toList()))
+                .withNextToken(response.nextToken()), response);
+    }
+
+    @Override
+    public DeleteCarrierGatewayResult deleteCarrierGateway(final DeleteCarrierGatewayRequest request) {
+        final software.amazon.awssdk.services.ec2.model.DeleteCarrierGatewayResponse response = call(() -> client.deleteCarrierGateway(
+                software.amazon.awssdk.services.ec2.model.DeleteCarrierGatewayRequest.builder()
+                        .overrideConfiguration(overrideFor(request))
+                        .carrierGatewayId(request.getCarrierGatewayId())
+                        .build()));
+        return withMetadata(new DeleteCarrierGatewayResult().withCarrierGateway(toV1(response.carrierGateway())), response);
+    }
+
+    @Override
+    public CreateTagsResult createTags(final CreateTagsRequest request) {
+        return withMetadata(new CreateTagsResult(), call(() -> client.createTags(
+                software.amazon.awssdk.services.ec2.model.CreateTagsRequest.builder()
+                        .overrideConfiguration(overrideFor(request))
+                        .resources(orEmpty(request.getResources()))
+                        .tags(toV2Tags(request.getTags()))
+                        .build())));
+    }
+
+    @Override
+    public DeleteTagsResult deleteTags(final DeleteTagsRequest request) {
+        return withMetadata(new DeleteTagsResult(), call(() -> client.deleteTags(
+                software.amazon.awssdk.services.ec2.model.DeleteTagsRequest.builder()
+                        .overrideConfiguration(overrideFor(request))
+                        .resources(orEmpty(request.getResources()))
+                        .tags(toV2Tags(request.getTags()))
+                        .build())));
+    }
+
+    private static <ResponseT extends AwsResponse> ResponseT call(final Supplier<ResponseT> call) {
+        try {
+            return call.get();
+        } catch (AwsServiceException e) {
+            throw toEc2Exception(e);
+        } catch (SdkException e) {
+            throw toClientException(e);
+        }
+    }
+
+    /**
+     * A v1 SdkClientException is retryable unless it says otherwise, and {@link Ec2Invoker} retries
+     * it on that alone. Only an I/O failure or an attempt that timed out is worth another try; a
+     * request the SDK rejected or a call that was aborted would fail the same way again.
+     */
+    static com.amazonaws.SdkClientException toClientException(final SdkException e) {
+        return new ConvertedClientException(e,
+                e.retryable() || e instanceof ApiCallAttemptTimeoutException || e.getCause() instanceof IOException);
+    }
+
+    private static final class ConvertedClientException extends com.amazonaws.SdkClientException {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean retryable;
+
+        ConvertedClientException(final SdkException cause, final boolean retryable) {
+            super(cause.getMessage(), cause);
+            this.retryable = retryable;
+        }
+
+        @Override
+        public boolean isRetryable() {
+            return retryable;
+        }
+    }
+
+    static AmazonEC2Exception toEc2Exception(final AwsServiceException e) {
+        final AmazonEC2Exception converted = new AmazonEC2Exception(
+                e.awsErrorDetails() != null && e.awsErrorDetails().errorMessage() != null ? e.awsErrorDetails().errorMessage() : e.getMessage());
+        converted.setErrorCode(e.awsErrorDetails() != null ? e.awsErrorDetails().errorCode() : null);
+        converted.setRequestId(e.requestId());
+        converted.setStatusCode(e.statusCode());
+        converted.setServiceName("AmazonEC2");
+        converted.setErrorType(e.statusCode() >= 500 ? AmazonServiceException.ErrorType.Service : AmazonServiceException.ErrorType.Client);
+        converted.initCause(e);
+        return converted;
+    }
+
+    /**
+     * @return an override that signs with the credentials the proxy injected, or null to use the client's own
+     */
+    private static AwsRequestOverrideConfiguration overrideFor(final AmazonWebServiceRequest request) {
+        final AWSCredentialsProvider provider = request.getRequestCredentialsProvider();
+        if (provider == null) {
+            return null;
+        }
+        final AWSCredentials credentials = provider.getCredentials();
+        final AwsCredentials converted = credentials instanceof AWSSessionCredentials
+                ? AwsSessionCredentials.create(credentials.getAWSAccessKeyId(), credentials.getAWSSecretKey(),
+                        ((AWSSessionCredentials) credentials).getSessionToken())
+                : AwsBasicCredentials.create(credentials.getAWSAccessKeyId(), credentials.getAWSSecretKey());
+        return AwsRequestOverrideConfiguration.builder()
+                .credentialsProvider(StaticCredentialsProvider.create(converted))
+                .build();
+    }
+
+    private static <ResultT extends AmazonWebServiceResult<ResponseMetadata>> ResultT withMetadata(
+            final ResultT result,
+            final AwsResponse response) {
+        final String requestId = response.responseMetadata() != null ? response.responseMetadata().requestId() : null;
+        if (requestId != null) {
+            result.setSdkResponseMetadata(new ResponseMetadata(Collections.singletonMap(ResponseMetadata.AWS_REQUEST_ID, requestId)));
+        }
+        return result;
+    }
+
+    private static CarrierGateway toV1(final software.amazon.awssdk.services.ec2.model.CarrierGateway cagw) {
+        if (cagw == null) {
+            return null;
+        }
+        return new CarrierGateway()
+                .withCarrierGatewayId(cagw.carrierGatewayId())
+                .withVpcId(cagw.vpcId())
+                .withState(cagw.stateAsString())
+                .withOwnerId(cagw.ownerId())
+                .withTags(cagw.tags().stream().map(tag -> new Tag(tag.key(), tag.value())).collect(Collectors.toList()));
+    }
+
+    private static List<software.amazon.awssdk.services.ec2.model.TagSpecification> toV2TagSpecifications(
+            final Collection<TagSpecification> specifications) {
+        return orEmpty(specifications).stream()
+                .map(specification -> software.amazon.awssdk.services.ec2.model.TagSpecification.builder()
+                        .resourceType(specification.getResourceType())
+                        .tags(toV2Tags(specification.getTags()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static List<software.amazon.awssdk.services.ec2.model.Tag> toV2Tags(final Collection<Tag> tags) {
+        return orEmpty(tags).stream()
+                .map(tag -> software.amazon.awssdk.services.ec2.model.Tag.builder().key(tag.getKey()).value(tag.getValue()).build())
+                .collect(Collectors.toList());
+    }
+
+    private static List<software.amazon.awssdk.services.ec2.model.Filter> toV2Filters(final Collection<Filter> filters) {
+        return orEmpty(filters).stream()
+                .map(filter -> software.amazon.awssdk.services.ec2.model.Filter.builder()
+                        .name(filter.getName())
+                        .values(orEmpty(filter.getValues()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static <T> Collection<T> orEmpty(final Collection<T> values) {
+        return values == null ? Collections.emptyList() : values;
+    }
+}
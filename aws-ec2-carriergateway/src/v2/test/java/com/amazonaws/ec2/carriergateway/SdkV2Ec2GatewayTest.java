@@ -0,0 +1,117 @@
+package com.amazonaws.ec2.carriergateway;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicSessionCredentials;
+import com.amazonaws.services.ec2.model.AmazonEC2Exception;
+import com.amazonaws.services.ec2.model.CarrierGateway;
+import com.amazonaws.services.ec2.model.CreateCarrierGatewayRequest;
+import com.amazonaws.services.ec2.model.CreateCarrierGatewayResult;
+import com.amazonaws.services.ec2.model.CreateTagsRequest;
+import com.amazonaws.services.ec2.model.DeleteCarrierGatewayRequest;
+import com.amazonaws.services.ec2.model.DeleteTagsRequest;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysRequest;
+import com.amazonaws.services.ec2.model.DescribeCarrierGatewaysResult;
+import com.amazonaws.services.ec2.model.Filter;
+import com.amazonaws.services.ec2.model.Tag;
+import com.amazonaws.services.ec2.model.TagSpecification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SdkV2Ec2GatewayTest extends TestBase {
+
+    private FakeEc2 ec2;
+    private Ec2StandInServer server;
+    private Ec2Gateway gateway;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        ec2 = new FakeEc2().withPendingMillis(0L).withDeletingMillis(0L).withDeletedVisibleMillis(0L);
+        server = new Ec2StandInServer(ec2);
+        gateway = ClientBuilder.buildGateway(ClientBuilder.SDK_V2, server.endpoint());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void buildGateway_SelectsClient() {
+        assertThat(gateway).isInstanceOf(SdkV2Ec2Gateway.class);
+        assertThat(ClientBuilder.buildGateway(null, server.endpoint())).isInstanceOf(SdkV1Ec2Gateway.class);
+    }
+
+    @Test
+    public void lifecycle_ConvertsRequestsAndResults() {
+        final CreateCarrierGatewayResult created = gateway.createCarrierGateway(withCredentials(new CreateCarrierGatewayRequest()
+                .withVpcId(VPC_ID)
+                .withTagSpecifications(new TagSpecification()
+                        .withResourceType("carrier-gateway")
+                        .withTags(new Tag("Name", "MyCagw")))));
+        final String cagwId = created.getCarrierGateway().getCarrierGatewayId();
+        assertThat(created.getCarrierGateway().getVpcId()).isEqualTo(VPC_ID);
+        assertThat(created.getCarrierGateway().getTags()).containsExactly(new Tag("Name", "MyCagw"));
+        assertThat(created.getSdkResponseMetadata().getRequestId()).isNotEmpty();
+
+        gateway.createTags(withCredentials(new CreateTagsRequest().withResources(cagwId).withTags(new Tag("Stage", "Prod"))));
+        gateway.deleteTags(withCredentials(new DeleteTagsRequest().withResources(cagwId).withTags(new Tag("Name", "MyCagw"))));
+
+        final DescribeCarrierGatewaysResult described = gateway.describeCarrierGateways(withCredentials(new DescribeCarrierGatewaysRequest()
+                .withFilters(new Filter("vpc-id").withValues(VPC_ID))));
+        assertThat(described.getCarrierGateways()).hasSize(1);
+        final CarrierGateway cagw = described.getCarrierGateways().get(0);
+        assertThat(cagw.getCarrierGatewayId()).isEqualTo(cagwId);
+        assertThat(cagw.getState()).isEqualTo(FakeEc2.AVAILABLE);
+        assertThat(cagw.getTags()).containsExactly(new Tag("Stage", "Prod"));
+
+        gateway.deleteCarrierGateway(withCredentials(new DeleteCarrierGatewayRequest().withCarrierGatewayId(cagwId)));
+        assertThat(ec2.gatewayIds()).doesNotContain(cagwId);
+    }
+
+    @Test
+    public void serviceError_ThrownAsEc2Exception() {
+        final AmazonEC2Exception e = assertThrows(AmazonEC2Exception.class, () -> gateway.describeCarrierGateways(
+                withCredentials(new DescribeCarrierGatewaysRequest().withCarrierGatewayIds(CAGW_ID))));
+
+        assertThat(e.getErrorCode()).isEqualTo("InvalidCarrierGatewayID.NotFound");
+        assertThat(e.getStatusCode()).isEqualTo(400);
+        assertThat(Translator.isTransientEc2Error(e.getErrorCode())).isFalse();
+    }
+
+    @Test
+    public void clientError_RetryableOnlyWithoutAnswer() {
+        assertThat(SdkV2Ec2Gateway.toClientException(
+                SdkClientException.create("Unable to execute HTTP request", new IOException("Connection reset"))).isRetryable()).isTrue();
+        assertThat(SdkV2Ec2Gateway.toClientException(ApiCallAttemptTimeoutException.create(1_000L)).isRetryable()).isTrue();
+        assertThat(SdkV2Ec2Gateway.toClientException(SdkClientException.create("Unable to load credentials")).isRetryable()).isFalse();
+        assertThat(SdkV2Ec2Gateway.toClientException(AbortedException.create("Thread was interrupted")).isRetryable()).isFalse();
+    }
+
+    @Test
+    public void unreachableEndpoint_ThrownAsRetryableClientException() {
+        // nothing listens on port 1, so the connection is refused
+        final Ec2Gateway unreachable = ClientBuilder.buildGateway(ClientBuilder.SDK_V2, "http://127.0.0.1:1");
+
+        final com.amazonaws.SdkClientException e = assertThrows(com.amazonaws.SdkClientException.class, () -> unreachable.describeCarrierGateways(
+                withCredentials(new DescribeCarrierGatewaysRequest().withCarrierGatewayIds(CAGW_ID))));
+
+        assertThat(e).isNotInstanceOf(AmazonEC2Exception.class);
+        assertThat(e.isRetryable()).isTrue();
+    }
+
+    private static <T extends AmazonWebServiceRequest> T withCredentials(final T request) {
+        // as AmazonWebServicesClientProxy.injectCredentialsAndInvoke does before calling the gateway
+        request.setRequestCredentialsProvider(new AWSStaticCredentialsProvider(new BasicSessionCredentials("access", "secret", "token")));
+        return request;
+    }
+}